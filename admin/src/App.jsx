@@ -11,6 +11,8 @@ import AdminLayout from "./components/layout/AdminLayout";
 import AdminOverview from "./components/modules/AdminOverview";
 import AdminMenu from "./components/modules/AdminMenu";
 import AdminOrders from "./components/modules/AdminOrders";
+import AdminKitchen from "./components/modules/AdminKitchen";
+import AdminDispatch from "./components/modules/AdminDispatch";
 import AdminReservations from "./components/modules/AdminReservations";
 
 // Protected Route Component
@@ -79,6 +81,8 @@ function App() {
               <Route path="dashboard" element={<AdminOverview />} />
               <Route path="menu" element={<AdminMenu />} />
               <Route path="orders" element={<AdminOrders />} />
+              <Route path="kitchen" element={<AdminKitchen />} />
+              <Route path="dispatch" element={<AdminDispatch />} />
               <Route path="reservations" element={<AdminReservations />} />
             </Route>
 
@@ -13,6 +13,8 @@ import {
   Menu,
   User as UserIcon,
   Calendar,
+  ChefHat,
+  Bike,
   X,
 } from "lucide-react";
 
@@ -30,6 +32,8 @@ const AdminLayout = () => {
   React.useEffect(() => {
     websocketService.connect();
     const unsubscribe = websocketService.subscribe("/topic/orders", (order) => {
+      // Arrays are bulk status changes, never new orders
+      if (Array.isArray(order)) return;
       // Only notify if it's a new order (status PENDING)
       if (order.status === "PENDING") {
         const customerName = order.fullName || order.username || "a Guest";
@@ -59,6 +63,8 @@ const AdminLayout = () => {
     { path: "/dashboard", label: "Dashboard", icon: LayoutDashboard },
     { path: "/menu", label: "Menu Items", icon: UtensilsCrossed },
     { path: "/orders", label: "Orders", icon: ShoppingCart },
+    { path: "/kitchen", label: "Kitchen", icon: ChefHat },
+    { path: "/dispatch", label: "Dispatch", icon: Bike },
     { path: "/reservations", label: "Reservations", icon: Calendar },
   ];
 
@@ -0,0 +1,133 @@
+import React, { useState, useEffect } from "react";
+import { dispatchAPI } from "../../services/api";
+import { Loader2, RefreshCw, MapPin, Clock } from "lucide-react";
+
+const REFRESH_MS = 30000;
+
+const formatTime = (value) =>
+  new Date(value).toLocaleTimeString([], { hour: "2-digit", minute: "2-digit" });
+
+const AdminDispatch = () => {
+  const [batches, setBatches] = useState([]);
+  const [radiusKm, setRadiusKm] = useState(2);
+  const [windowMinutes, setWindowMinutes] = useState(10);
+  const [loading, setLoading] = useState(true);
+
+  const fetchBatches = async () => {
+    try {
+      const response = await dispatchAPI.getBatches({ radiusKm, windowMinutes });
+      setBatches(response.data || []);
+    } catch (err) {
+      console.error("Dispatch error:", err);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  useEffect(() => {
+    fetchBatches();
+    const timer = setInterval(fetchBatches, REFRESH_MS);
+    return () => clearInterval(timer);
+  }, [radiusKm, windowMinutes]);
+
+  if (loading) {
+    return (
+      <div className="flex justify-center py-20">
+        <Loader2 className="animate-spin text-slate-300" size={40} />
+      </div>
+    );
+  }
+
+  return (
+    <div className="space-y-6">
+      <div className="bg-white p-4 rounded-xl border border-slate-200 flex flex-wrap items-center justify-between gap-4 shadow-sm">
+        <div className="flex gap-4 flex-wrap items-center text-xs font-bold uppercase text-slate-500">
+          <label className="flex items-center gap-2">
+            Radius
+            <select
+              value={radiusKm}
+              onChange={(e) => setRadiusKm(Number(e.target.value))}
+              className="px-2 py-1 rounded-lg bg-slate-50 border border-slate-200"
+            >
+              {[1, 2, 3, 5].map((km) => (
+                <option key={km} value={km}>
+                  {km} km
+                </option>
+              ))}
+            </select>
+          </label>
+          <label className="flex items-center gap-2">
+            Ready within
+            <select
+              value={windowMinutes}
+              onChange={(e) => setWindowMinutes(Number(e.target.value))}
+              className="px-2 py-1 rounded-lg bg-slate-50 border border-slate-200"
+            >
+              {[5, 10, 15, 20].map((minutes) => (
+                <option key={minutes} value={minutes}>
+                  {minutes} min
+                </option>
+              ))}
+            </select>
+          </label>
+        </div>
+        <button
+          onClick={fetchBatches}
+          className="p-2 text-slate-500 hover:bg-slate-100 rounded-lg"
+        >
+          <RefreshCw size={20} />
+        </button>
+      </div>
+
+      {batches.length === 0 && (
+        <p className="text-sm text-slate-400">
+          No confirmed delivery orders with a location
+        </p>
+      )}
+
+      <div className="grid grid-cols-1 md:grid-cols-2 xl:grid-cols-3 gap-4">
+        {batches.map((batch) => (
+          <div
+            key={batch.orders[0].orderId}
+            className="bg-white p-4 rounded-xl border border-slate-200 shadow-sm space-y-3"
+          >
+            <div className="flex justify-between items-center">
+              <span className="font-semibold text-slate-900">
+                {batch.orders.length === 1
+                  ? "Single drop"
+                  : `${batch.orders.length} drops`}
+              </span>
+              <span className="flex items-center gap-1 text-xs font-bold text-slate-500">
+                <Clock size={14} />
+                {formatTime(batch.readyFrom)}
+                {batch.readyTo !== batch.readyFrom &&
+                  ` – ${formatTime(batch.readyTo)}`}
+              </span>
+            </div>
+            <ul className="space-y-1">
+              {batch.orders.map((order) => (
+                <li
+                  key={order.orderId}
+                  className="flex justify-between text-sm text-slate-700"
+                >
+                  <span>
+                    #{order.orderId}{" "}
+                    <span className="text-[10px] font-bold uppercase text-slate-400">
+                      {order.status}
+                    </span>
+                  </span>
+                  <span className="flex items-center gap-1 text-xs text-slate-500">
+                    <MapPin size={12} />
+                    {order.distanceKm.toFixed(1)} km
+                  </span>
+                </li>
+              ))}
+            </ul>
+          </div>
+        ))}
+      </div>
+    </div>
+  );
+};
+
+export default AdminDispatch;
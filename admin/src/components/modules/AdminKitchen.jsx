@@ -0,0 +1,158 @@
+import React, { useState, useEffect } from "react";
+import toast from "react-hot-toast";
+import { kitchenAPI } from "../../services/api";
+import { Loader2, RefreshCw, Check, Clock } from "lucide-react";
+import websocketService from "../../services/websocket";
+
+const byPromise = (a, b) =>
+  a.promisedAt === b.promisedAt
+    ? a.id - b.id
+    : a.promisedAt < b.promisedAt
+      ? -1
+      : 1;
+
+const AdminKitchen = () => {
+  const [stations, setStations] = useState([]);
+  const [station, setStation] = useState(null);
+  const [tickets, setTickets] = useState([]);
+  const [loading, setLoading] = useState(true);
+  const [bumping, setBumping] = useState(null);
+
+  const fetchStations = async () => {
+    try {
+      const response = await kitchenAPI.getStations();
+      const list = response.data || [];
+      setStations(list);
+      if (!station && list.length > 0) {
+        setStation(list[0].station);
+      }
+    } catch (err) {
+      console.error("Stations error:", err);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  useEffect(() => {
+    fetchStations();
+  }, []);
+
+  useEffect(() => {
+    if (!station) return;
+
+    websocketService.connect();
+    // Subscribe before loading, so no update is missed in between
+    const unsubscribe = websocketService.subscribe(
+      `/topic/kitchen/${station}`,
+      (update) => {
+        const removed = new Set(update.removed || []);
+        setTickets((prev) => {
+          const kept = prev.filter((t) => !removed.has(t.id));
+          const known = new Set(kept.map((t) => t.id));
+          const added = (update.added || []).filter((t) => !known.has(t.id));
+          return [...kept, ...added].sort(byPromise);
+        });
+      },
+    );
+
+    kitchenAPI
+      .getTickets(station)
+      .then((response) => setTickets(response.data || []))
+      .catch((err) => console.error("Tickets error:", err));
+
+    return () => unsubscribe();
+  }, [station]);
+
+  const bump = async (ticketId) => {
+    setBumping(ticketId);
+    try {
+      await kitchenAPI.bumpTicket(ticketId);
+      setTickets((prev) => prev.filter((t) => t.id !== ticketId));
+    } catch (err) {
+      console.error("Bump failed:", err);
+      toast.error("Ticket is no longer open");
+      setTickets((prev) => prev.filter((t) => t.id !== ticketId));
+    } finally {
+      setBumping(null);
+    }
+  };
+
+  const minutesLeft = (promisedAt) =>
+    Math.round((new Date(promisedAt) - new Date()) / 60000);
+
+  if (loading) {
+    return (
+      <div className="flex justify-center py-20">
+        <Loader2 className="animate-spin text-slate-300" size={40} />
+      </div>
+    );
+  }
+
+  return (
+    <div className="space-y-6">
+      <div className="bg-white p-4 rounded-xl border border-slate-200 flex flex-wrap items-center justify-between gap-4 shadow-sm">
+        <div className="flex gap-2 flex-wrap">
+          {stations.length === 0 && (
+            <span className="text-sm text-slate-400">
+              No open tickets in the kitchen
+            </span>
+          )}
+          {stations.map((s) => (
+            <button
+              key={s.station}
+              onClick={() => setStation(s.station)}
+              className={`px-4 py-2 rounded-lg text-[10px] font-bold uppercase transition-all ${station === s.station ? "bg-orange-600 text-white shadow-sm" : "bg-slate-50 text-slate-600 hover:bg-slate-100"}`}
+            >
+              {s.label} ({station === s.station ? tickets.length : s.tickets})
+            </button>
+          ))}
+        </div>
+        <button
+          onClick={fetchStations}
+          className="p-2 text-slate-500 hover:bg-slate-100 rounded-lg"
+        >
+          <RefreshCw size={20} />
+        </button>
+      </div>
+
+      <div className="grid grid-cols-1 md:grid-cols-2 xl:grid-cols-4 gap-4">
+        {tickets.map((ticket) => {
+          const left = minutesLeft(ticket.promisedAt);
+          return (
+            <div
+              key={ticket.id}
+              className={`bg-white p-4 rounded-xl border shadow-sm space-y-3 ${left < 0 ? "border-rose-300" : "border-slate-200"}`}
+            >
+              <div className="flex justify-between items-center">
+                <span className="font-semibold text-slate-900">
+                  #{ticket.orderId}
+                </span>
+                <span
+                  className={`flex items-center gap-1 text-xs font-bold ${left < 0 ? "text-rose-600" : left < 10 ? "text-amber-600" : "text-slate-500"}`}
+                >
+                  <Clock size={14} />
+                  {left < 0 ? `${-left} min late` : `${left} min`}
+                </span>
+              </div>
+              <p className="text-lg font-bold text-slate-800">
+                {ticket.quantity} × {ticket.name}
+              </p>
+              <p className="text-xs text-slate-400">
+                {ticket.customer || "Guest"}
+              </p>
+              <button
+                onClick={() => bump(ticket.id)}
+                disabled={bumping === ticket.id}
+                className="w-full py-2 rounded-lg text-xs font-bold uppercase bg-emerald-50 text-emerald-700 hover:bg-emerald-100 disabled:opacity-50 flex items-center justify-center gap-1"
+              >
+                <Check size={14} /> Bump
+              </button>
+            </div>
+          );
+        })}
+      </div>
+    </div>
+  );
+};
+
+export default AdminKitchen;
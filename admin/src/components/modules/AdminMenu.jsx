@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from "react";
 import toast from "react-hot-toast";
-import { menuAPI } from "../../services/api";
+import { menuAPI, resolveImageUrl } from "../../services/api";
 import websocketService from "../../services/websocket";
 import { Plus, Edit2, Trash2, Search, Loader2, X, Save } from "lucide-react";
 import { useAuth } from "../../contexts/AuthContext";
@@ -13,6 +13,7 @@ const AdminMenu = () => {
   const [showModal, setShowModal] = useState(false);
   const [editingItem, setEditingItem] = useState(null);
   const [saving, setSaving] = useState(false);
+  const [uploading, setUploading] = useState(false);
 
   // ... (state for formData)
   const [formData, setFormData] = useState({
@@ -81,6 +82,23 @@ const AdminMenu = () => {
     setShowModal(true);
   };
 
+  // Uploaded images are stored by content hash; keep the short card-size URL
+  const handleImageUpload = async (e) => {
+    const file = e.target.files?.[0];
+    if (!file) return;
+    setUploading(true);
+    try {
+      const response = await menuAPI.uploadImage(file);
+      setFormData((data) => ({ ...data, imageUrl: response.data.cardUrl }));
+    } catch (err) {
+      console.error(err);
+      toast.error(err.response?.data || "Image upload failed");
+    } finally {
+      setUploading(false);
+      e.target.value = "";
+    }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     setSaving(true);
@@ -179,7 +197,7 @@ const AdminMenu = () => {
                 <td className="px-6 py-4">
                   <div className="flex items-center gap-3">
                     <img
-                      src={item.imageUrl || item.image}
+                      src={resolveImageUrl(item.imageUrl || item.image)}
                       className="w-10 h-10 rounded-lg object-cover bg-slate-100"
                     />
                     <div>
@@ -318,6 +336,13 @@ const AdminMenu = () => {
                     }
                     className="w-full px-3 py-2 bg-slate-50 border border-slate-200 rounded-lg text-sm focus:outline-none"
                   />
+                  <input
+                    type="file"
+                    accept="image/png,image/jpeg,image/gif"
+                    onChange={handleImageUpload}
+                    disabled={uploading}
+                    className="w-full text-xs text-slate-500"
+                  />
                 </div>
                 <div className="col-span-2 space-y-1">
                   <label className="text-xs font-semibold text-slate-500">
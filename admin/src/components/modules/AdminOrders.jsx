@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from "react";
 import toast from "react-hot-toast";
 import { orderAPI } from "../../services/api";
-import { Search, Loader2, Eye, X, RefreshCw } from "lucide-react";
+import { Search, Loader2, Eye, X, RefreshCw, Download } from "lucide-react";
 import websocketService from "../../services/websocket";
 
 const AdminOrders = () => {
@@ -11,12 +11,22 @@ const AdminOrders = () => {
   const [searchQuery, setSearchQuery] = useState("");
   const [selectedOrder, setSelectedOrder] = useState(null);
   const [updating, setUpdating] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [selectedIds, setSelectedIds] = useState([]);
 
-  const fetchOrders = async () => {
+  const fetchOrders = async (cursor = null) => {
     setLoading(true);
     try {
-      const response = await orderAPI.getAllOrders();
-      setOrders(response.data || []);
+      const response = await orderAPI.getAllOrders({
+        status: filter === "all" ? undefined : filter,
+        cursor: cursor || undefined,
+        limit: 50,
+      });
+      const page = response.data || {};
+      setOrders((prev) =>
+        cursor ? [...prev, ...(page.items || [])] : page.items || [],
+      );
+      setNextCursor(page.nextCursor || null);
     } catch (err) {
       console.error("Orders error:", err);
     } finally {
@@ -26,18 +36,26 @@ const AdminOrders = () => {
 
   useEffect(() => {
     fetchOrders();
+  }, [filter]);
 
+  useEffect(() => {
     websocketService.connect();
     const unsubscribe = websocketService.subscribe(
       "/topic/orders",
-      (newOrder) => {
+      (payload) => {
+        // Bulk status changes arrive as one array frame
+        const incoming = Array.isArray(payload) ? payload : [payload];
         setOrders((prevOrders) => {
-          const orderExists = prevOrders.find((o) => o.id === newOrder.id);
-          if (orderExists) {
-            return prevOrders.map((o) => (o.id === newOrder.id ? newOrder : o));
-          } else {
-            return [newOrder, ...prevOrders];
-          }
+          let next = prevOrders;
+          incoming.forEach((newOrder) => {
+            const orderExists = next.find((o) => o.id === newOrder.id);
+            if (orderExists) {
+              next = next.map((o) => (o.id === newOrder.id ? newOrder : o));
+            } else {
+              next = [newOrder, ...next];
+            }
+          });
+          return next;
         });
       },
     );
@@ -50,17 +68,90 @@ const AdminOrders = () => {
   const updateStatus = async (orderId, newStatus) => {
     setUpdating(orderId);
     try {
-      await orderAPI.updateOrderStatus(orderId, newStatus);
-      // Status update will be received via WebSocket, but update locally for instant feedback
-      setOrders((prev) =>
-        prev.map((o) => (o.id === orderId ? { ...o, status: newStatus } : o)),
+      const current = orders.find((o) => o.id === orderId);
+      const response = await orderAPI.updateOrderStatus(
+        orderId,
+        newStatus,
+        current?.version,
       );
+      // Status update will be received via WebSocket, but update locally for instant feedback
+      const updated = response.data;
+      setOrders((prev) => prev.map((o) => (o.id === orderId ? updated : o)));
       if (selectedOrder?.id === orderId) {
-        setSelectedOrder((prev) => ({ ...prev, status: newStatus }));
+        setSelectedOrder(updated);
       }
     } catch (err) {
       console.error("Status update failed:", err);
-      toast.error("Status update failed");
+      if (err.response?.status === 409) {
+        toast.error(
+          typeof err.response.data === "string"
+            ? err.response.data
+            : "Order was changed elsewhere",
+        );
+        fetchOrders();
+      } else {
+        toast.error("Status update failed");
+      }
+    } finally {
+      setUpdating(null);
+    }
+  };
+
+  const exportCsv = async () => {
+    try {
+      const response = await orderAPI.exportOrders({
+        status: filter === "all" ? undefined : filter,
+      });
+      const url = URL.createObjectURL(response.data);
+      const link = document.createElement("a");
+      link.href = url;
+      link.download = "orders.csv";
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (err) {
+      console.error("Export failed:", err);
+      toast.error("Export failed");
+    }
+  };
+
+  const toggleSelected = (orderId) => {
+    setSelectedIds((prev) =>
+      prev.includes(orderId)
+        ? prev.filter((id) => id !== orderId)
+        : [...prev, orderId],
+    );
+  };
+
+  const bulkUpdateStatus = async (newStatus) => {
+    setUpdating("bulk");
+    try {
+      const response = await orderAPI.bulkUpdateOrderStatus(
+        selectedIds.map((id) => ({
+          id,
+          status: newStatus,
+          version: orders.find((o) => o.id === id)?.version,
+        })),
+      );
+      const { updated = [], rejected = [] } = response.data || {};
+      const byId = new Map(updated.map((o) => [o.id, o]));
+      setOrders((prev) => prev.map((o) => byId.get(o.id) || o));
+      setSelectedIds(rejected.map((r) => r.id).filter((id) => id != null));
+      if (updated.length > 0) {
+        toast.success(`Updated ${updated.length} order(s)`);
+      }
+      if (rejected.length > 0) {
+        toast.error(
+          `${rejected.length} order(s) not updated: ${rejected[0].reason}`,
+        );
+      }
+    } catch (err) {
+      console.error("Bulk status update failed:", err);
+      toast.error(
+        err.response?.status === 409
+          ? "Some orders were changed elsewhere, please retry"
+          : "Bulk status update failed",
+      );
+      fetchOrders();
     } finally {
       setUpdating(null);
     }
@@ -130,7 +221,14 @@ const AdminOrders = () => {
             />
           </div>
           <button
-            onClick={fetchOrders}
+            onClick={exportCsv}
+            title="Export CSV"
+            className="p-2 text-slate-500 hover:bg-slate-100 rounded-lg"
+          >
+            <Download size={20} />
+          </button>
+          <button
+            onClick={() => fetchOrders()}
             className="p-2 text-slate-500 hover:bg-slate-100 rounded-lg"
           >
             <RefreshCw size={20} className={loading ? "animate-spin" : ""} />
@@ -138,10 +236,37 @@ const AdminOrders = () => {
         </div>
       </div>
 
+      {selectedIds.length > 0 && (
+        <div className="bg-white p-4 rounded-xl border border-slate-200 flex flex-wrap items-center gap-2 shadow-sm">
+          <span className="text-sm font-semibold text-slate-700 mr-2">
+            {selectedIds.length} selected
+          </span>
+          {["CONFIRMED", "PREPARING", "READY", "DELIVERED", "CANCELLED"].map(
+            (s) => (
+              <button
+                key={s}
+                onClick={() => bulkUpdateStatus(s)}
+                disabled={updating === "bulk"}
+                className="px-3 py-2 rounded-lg text-[10px] font-bold uppercase bg-slate-50 text-slate-600 hover:bg-slate-100 disabled:opacity-50"
+              >
+                {s}
+              </button>
+            ),
+          )}
+          <button
+            onClick={() => setSelectedIds([])}
+            className="ml-auto p-2 text-slate-400 hover:text-slate-600"
+          >
+            <X size={16} />
+          </button>
+        </div>
+      )}
+
       <div className="bg-white border border-slate-200 rounded-xl overflow-hidden shadow-sm">
         <table className="w-full text-left text-sm">
           <thead className="bg-slate-50 border-b border-slate-200 text-slate-500 font-medium">
             <tr>
+              <th className="pl-6 py-4 w-4"></th>
               <th className="px-6 py-4">Order ID</th>
               <th className="px-6 py-4">Customer</th>
               <th className="px-6 py-4">Time</th>
@@ -156,6 +281,13 @@ const AdminOrders = () => {
                 key={order.id}
                 className="hover:bg-slate-50/50 transition-colors"
               >
+                <td className="pl-6 py-4">
+                  <input
+                    type="checkbox"
+                    checked={selectedIds.includes(order.id)}
+                    onChange={() => toggleSelected(order.id)}
+                  />
+                </td>
                 <td className="px-6 py-4 font-semibold text-slate-900">
                   #{order.id}
                 </td>
@@ -195,6 +327,17 @@ const AdminOrders = () => {
             ))}
           </tbody>
         </table>
+        {nextCursor && (
+          <div className="p-4 border-t border-slate-100 text-center">
+            <button
+              onClick={() => fetchOrders(nextCursor)}
+              disabled={loading}
+              className="px-4 py-2 rounded-lg text-xs font-bold uppercase bg-slate-50 text-slate-600 hover:bg-slate-100 disabled:opacity-50"
+            >
+              {loading ? "Loading..." : "Load more"}
+            </button>
+          </div>
+        )}
       </div>
 
       {selectedOrder && (
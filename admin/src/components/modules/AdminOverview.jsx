@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
 import toast from "react-hot-toast";
 import { useNavigate, Link } from "react-router-dom";
 import {
@@ -9,7 +9,7 @@ import {
   ArrowUpRight,
   ArrowDownRight,
 } from "lucide-react";
-import { adminAPI } from "../../services/api";
+import { adminAPI, menuAPI } from "../../services/api";
 import websocketService from "../../services/websocket";
 
 const AdminOverview = () => {
@@ -25,6 +25,10 @@ const AdminOverview = () => {
   });
   const [recentOrders, setRecentOrders] = useState([]);
   const [loading, setLoading] = useState(true);
+  // Sequence of the newest stats shown; older broadcasts are dropped
+  const statsSequence = useRef(-1);
+  const [popularWindow, setPopularWindow] = useState("day");
+  const [popularItems, setPopularItems] = useState([]);
 
   const [restaurantStatus, setRestaurantStatus] = useState({
     isOpen: true,
@@ -42,18 +46,20 @@ const AdminOverview = () => {
     // Subscribe to stats updates
     const unsubscribeStats = websocketService.subscribe(
       "/topic/admin/stats",
-      (newStats) => {
-        setStats((prev) => ({ ...prev, ...newStats }));
-      },
+      (newStats) => applyStats(newStats, true),
     );
 
     // Subscribe to NEW orders to update recent list
     const unsubscribeOrders = websocketService.subscribe(
       "/topic/orders",
-      (newOrder) => {
-        setRecentOrders((prev) => [newOrder, ...prev.slice(0, 4)]);
-        // Also refresh stats when a new order arrives
-        fetchStats();
+      (payload) => {
+        // Bulk status changes arrive as one array frame
+        const incoming = Array.isArray(payload) ? payload : [payload];
+        const ids = new Set(incoming.map((o) => o.id));
+        setRecentOrders((prev) =>
+          [...incoming, ...prev.filter((o) => !ids.has(o.id))].slice(0, 5),
+        );
+        // Stats follow on /topic/admin/stats once the server has batched them
       },
     );
 
@@ -69,11 +75,22 @@ const AdminOverview = () => {
     };
   }, []);
 
+  // A fetch numbered n is newer than broadcast n, so only broadcasts drop ties
+  const applyStats = (newStats, broadcast = false) => {
+    if (
+      newStats.sequence < statsSequence.current ||
+      (broadcast && newStats.sequence === statsSequence.current)
+    )
+      return;
+    statsSequence.current = newStats.sequence;
+    setStats((prev) => ({ ...prev, ...newStats }));
+  };
+
   const fetchStats = async () => {
     try {
       const response = await adminAPI.getStats();
       if (response.data) {
-        setStats((prev) => ({ ...prev, ...response.data }));
+        applyStats(response.data);
       }
     } catch (err) {
       console.error("Dashboard stats error:", err);
@@ -82,6 +99,22 @@ const AdminOverview = () => {
     }
   };
 
+  // Rankings move slowly, so a periodic refresh is enough
+  useEffect(() => {
+    fetchPopularItems(popularWindow);
+    const timer = setInterval(() => fetchPopularItems(popularWindow), 60000);
+    return () => clearInterval(timer);
+  }, [popularWindow]);
+
+  const fetchPopularItems = async (window) => {
+    try {
+      const res = await menuAPI.getPopularItems(window, 5);
+      setPopularItems(res.data || []);
+    } catch (err) {
+      console.error("Best sellers error:", err);
+    }
+  };
+
   const fetchRecentOrders = async () => {
     try {
       const response = await adminAPI.getRecentOrders(5);
@@ -288,6 +321,53 @@ const AdminOverview = () => {
           </Link>
         </div>
       </div>
+
+      <div className="bg-white rounded-xl border border-slate-200 p-6 shadow-sm">
+        <div className="mb-6 flex justify-between items-center">
+          <h4 className="text-base font-semibold text-slate-800">
+            Best Sellers
+          </h4>
+          <div className="flex gap-1">
+            {[
+              ["hour", "Last hour"],
+              ["day", "Today"],
+              ["week", "7 days"],
+            ].map(([value, label]) => (
+              <button
+                key={value}
+                onClick={() => setPopularWindow(value)}
+                className={`text-xs px-3 py-1 rounded-full font-medium transition-colors ${popularWindow === value ? "bg-orange-500 text-white" : "text-slate-500 hover:bg-slate-100"}`}
+              >
+                {label}
+              </button>
+            ))}
+          </div>
+        </div>
+        {popularItems.length > 0 ? (
+          <div className="space-y-4">
+            {popularItems.map((item, index) => (
+              <div key={item.menuItemId} className="flex items-center gap-4">
+                <span className="w-6 text-sm font-bold text-slate-400">
+                  {index + 1}
+                </span>
+                <div className="flex-1 min-w-0">
+                  <p className="text-sm font-medium text-slate-800 truncate">
+                    {item.name}
+                  </p>
+                  <p className="text-xs text-slate-400">{item.category}</p>
+                </div>
+                <span className="text-sm font-semibold text-slate-700">
+                  {Math.round(item.sales)} sold
+                </span>
+              </div>
+            ))}
+          </div>
+        ) : (
+          <div className="text-center py-10 text-slate-400 text-sm italic">
+            No sales yet
+          </div>
+        )}
+      </div>
     </div>
   );
 };
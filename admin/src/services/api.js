@@ -155,16 +155,27 @@ export const authAPI = {
 // --- MENU API ---
 export const menuAPI = {
   getMenuItems: () => api.get('/menu'),
+  // window: hour, day or week
+  getPopularItems: (window, limit = 5) => api.get('/menu/popular', { params: { window, limit } }),
   createMenuItem: (item) => api.post('/menu', item),
   updateMenuItem: (id, item) => api.put(`/menu/${id}`, item),
   deleteMenuItem: (id) => api.delete(`/menu/${id}`),
+  uploadImage: (file) => {
+    const data = new FormData();
+    data.append('file', file);
+    return api.post('/images', data, { headers: { 'Content-Type': 'multipart/form-data' } });
+  },
 };
 
 // --- ORDERS API ---
 export const orderAPI = {
-  getAllOrders: () => api.get('/orders'),
+  getAllOrders: (params = {}) => api.get('/orders', { params }),
   getOrderById: (id) => api.get(`/orders/${id}`),
-  updateOrderStatus: (id, status) => api.patch(`/orders/${id}/status`, { status }),
+  updateOrderStatus: (id, status, version) => api.patch(`/orders/${id}/status`, { status, version }),
+  // updates: [{ id, status, version? }]
+  bulkUpdateOrderStatus: (updates) => api.patch('/orders/status', updates),
+  // params: { status?, from?, to? } with dates as YYYY-MM-DD
+  exportOrders: (params = {}) => api.get('/orders/export', { params, responseType: 'blob' }),
 };
 
 // --- ADMIN STATS API ---
@@ -176,10 +187,27 @@ export const adminAPI = {
   updateRestaurantStatus: (status) => api.put('/restaurant-status', status),
 };
 
+// --- KITCHEN DISPLAY API ---
+export const kitchenAPI = {
+  getStations: () => api.get('/admin/kitchen/stations'),
+  getTickets: (station) => api.get(`/admin/kitchen/stations/${station}`),
+  bumpTicket: (id) => api.post(`/admin/kitchen/tickets/${id}/bump`),
+};
+
+// --- DISPATCH API ---
+export const dispatchAPI = {
+  getBatches: (params) => api.get('/admin/dispatch/batches', { params }),
+  getNearby: (orderId, radiusKm) => api.get(`/admin/dispatch/orders/${orderId}/nearby`, { params: { radiusKm } }),
+};
+
 // --- RESERVATIONS API ---
 export const reservationAPI = {
   getAllReservations: () => api.get('/reservations'),
   updateReservationStatus: (id, status) => api.put(`/reservations/${id}/status`, { status }),
 };
 
+// Uploaded images are stored as paths on the API server, which may be on another origin
+export const resolveImageUrl = (url) =>
+  url && url.startsWith('/') ? new URL(url, new URL(API_BASE_URL, window.location.href)).href : url;
+
 export default api;
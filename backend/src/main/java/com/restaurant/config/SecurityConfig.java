@@ -49,6 +49,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/menu/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
                         .requestMatchers("/ws-restaurant/**").permitAll()
                         .requestMatchers("/api/restaurant-status/**").permitAll()
                         // Admin-only sections (must come BEFORE general authenticated routes)
@@ -84,8 +85,9 @@ public class SecurityConfig {
 
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "X-Requested-With",
-                "Cache-Control", "x-rtb-fingerprint-id"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "x-rtb-fingerprint-id"));
+                "Cache-Control", "If-None-Match", "Idempotency-Key", "x-rtb-fingerprint-id"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag", "X-Menu-Version",
+                "Idempotent-Replayed", "Retry-After", "x-rtb-fingerprint-id"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L); // Cache preflight for 1 hour
 
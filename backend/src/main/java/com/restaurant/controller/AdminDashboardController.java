@@ -2,16 +2,29 @@ package com.restaurant.controller;
 
 import com.restaurant.dto.AdminStatsDTO;
 import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.RevenueRollup;
 import com.restaurant.service.AdminDashboardService;
+import com.restaurant.service.AdminStatsPublisher;
+import com.restaurant.service.EtaService;
+import com.restaurant.service.KitchenAdmissionService;
+import com.restaurant.service.OrderArchiveService;
+import com.restaurant.service.OrderNotificationService;
+import com.restaurant.service.PopularItemsService;
+import com.restaurant.service.RevenueRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -20,10 +33,73 @@ public class AdminDashboardController {
     @Autowired
     private AdminDashboardService adminDashboardService;
 
+    @Autowired
+    private OrderNotificationService orderNotificationService;
+
+    @Autowired
+    private KitchenAdmissionService kitchenAdmissionService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private EtaService etaService;
+
+    @Autowired
+    private PopularItemsService popularItemsService;
+
+    @Autowired
+    private AdminStatsPublisher adminStatsPublisher;
+
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<AdminStatsDTO> getDashboardStats() {
-        return ResponseEntity.ok(adminDashboardService.getStats());
+        return ResponseEntity.ok(adminStatsPublisher.getStats());
+    }
+
+    @GetMapping("/metrics/stats-broadcast")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStatsBroadcastMetrics() {
+        return ResponseEntity.ok(adminStatsPublisher.getMetrics());
+    }
+
+    @GetMapping("/metrics/order-events")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getOrderEventMetrics() {
+        return ResponseEntity.ok(orderNotificationService.getMetrics());
+    }
+
+    @GetMapping("/metrics/admission")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAdmissionMetrics() {
+        return ResponseEntity.ok(kitchenAdmissionService.getMetrics());
+    }
+
+    @GetMapping("/metrics/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getArchiveMetrics() {
+        return ResponseEntity.ok(orderArchiveService.getMetrics());
+    }
+
+    @GetMapping("/metrics/eta")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getEtaMetrics() {
+        return ResponseEntity.ok(etaService.getMetrics());
+    }
+
+    @GetMapping("/metrics/popular")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getPopularItemsMetrics() {
+        return ResponseEntity.ok(popularItemsService.getMetrics());
+    }
+
+    @PostMapping("/archive/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> runArchive() {
+        return ResponseEntity.ok(Map.of("archived", orderArchiveService.archive()));
     }
 
     @GetMapping("/orders/recent")
@@ -33,14 +109,34 @@ public class AdminDashboardController {
         return ResponseEntity.ok(adminDashboardService.getRecentOrders(limit));
     }
 
+    /**
+     * Revenue per day (or per hour with granularity=hour) between two dates
+     * inclusive. Defaults to the last seven days.
+     */
     @GetMapping("/analytics/revenue")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getRevenueAnalytics() {
-        return ResponseEntity.ok(java.util.List.of(
-                java.util.Map.of("date", "2024-03-01", "revenue", 1200),
-                java.util.Map.of("date", "2024-03-02", "revenue", 1500),
-                java.util.Map.of("date", "2024-03-03", "revenue", 1100),
-                java.util.Map.of("date", "2024-03-04", "revenue", 1800),
-                java.util.Map.of("date", "2024-03-05", "revenue", 2100)));
+    public ResponseEntity<?> getRevenueAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        RevenueRollup.Granularity unit;
+        try {
+            unit = RevenueRollup.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unknown granularity: " + granularity);
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(6);
+        try {
+            return ResponseEntity.ok(revenueRollupService.getRevenue(start, end, unit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/analytics/revenue/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> backfillRevenue() {
+        return ResponseEntity.ok(Map.of("buckets", revenueRollupService.backfill()));
     }
 }
@@ -0,0 +1,40 @@
+package com.restaurant.controller;
+
+import com.restaurant.dto.DeliveryZone;
+import com.restaurant.service.DeliveryZoneService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/delivery")
+public class DeliveryController {
+
+    @Autowired
+    private DeliveryZoneService deliveryZoneService;
+
+    @GetMapping("/zones")
+    public ResponseEntity<List<DeliveryZone>> getZones() {
+        return ResponseEntity.ok(deliveryZoneService.getZones());
+    }
+
+    /**
+     * Whether we deliver to the given point, so checkout can say so before the
+     * customer pays.
+     */
+    @GetMapping("/check")
+    public ResponseEntity<?> check(@RequestParam double latitude, @RequestParam double longitude) {
+        if (!DeliveryZoneService.isValid(latitude, longitude)) {
+            return ResponseEntity.badRequest().body("Invalid coordinates");
+        }
+        String zone = deliveryZoneService.zoneOf(latitude, longitude);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("deliverable", !deliveryZoneService.isEnabled() || zone != null);
+        result.put("zone", zone);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,49 @@
+package com.restaurant.controller;
+
+import com.restaurant.service.DispatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/dispatch")
+public class DispatchController {
+
+    private static final int MAX_RADIUS_KM = 50;
+    private static final long MAX_WINDOW_MINUTES = 240;
+    private static final int MAX_BATCH_SIZE = 20;
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    @GetMapping("/orders/{id}/nearby")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getNearby(@PathVariable Long id,
+            @RequestParam(defaultValue = "${app.dispatch.radius-km:2}") double radiusKm) {
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            return ResponseEntity.badRequest().body("radiusKm must be between 0 and " + MAX_RADIUS_KM);
+        }
+        return dispatchService.findNearby(id, radiusKm)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/batches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getBatches(
+            @RequestParam(defaultValue = "${app.dispatch.radius-km:2}") double radiusKm,
+            @RequestParam(defaultValue = "${app.dispatch.window-minutes:10}") long windowMinutes,
+            @RequestParam(defaultValue = "${app.dispatch.max-batch-size:4}") int maxSize) {
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            return ResponseEntity.badRequest().body("radiusKm must be between 0 and " + MAX_RADIUS_KM);
+        }
+        if (windowMinutes < 0 || windowMinutes > MAX_WINDOW_MINUTES) {
+            return ResponseEntity.badRequest().body("windowMinutes must be between 0 and " + MAX_WINDOW_MINUTES);
+        }
+        if (maxSize < 1 || maxSize > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("maxSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        return ResponseEntity.ok(dispatchService.proposeBatches(radiusKm, windowMinutes, maxSize));
+    }
+}
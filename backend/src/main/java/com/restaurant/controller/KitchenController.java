@@ -0,0 +1,37 @@
+package com.restaurant.controller;
+
+import com.restaurant.dto.KitchenTicket;
+import com.restaurant.service.KitchenDisplayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/kitchen")
+public class KitchenController {
+
+    @Autowired
+    private KitchenDisplayService kitchenDisplayService;
+
+    @GetMapping("/stations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> getStations() {
+        return ResponseEntity.ok(kitchenDisplayService.getStations());
+    }
+
+    @GetMapping("/stations/{station}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<KitchenTicket>> getTickets(@PathVariable String station) {
+        return ResponseEntity.ok(kitchenDisplayService.getTickets(station));
+    }
+
+    @PostMapping("/tickets/{id}/bump")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> bump(@PathVariable Long id) {
+        return kitchenDisplayService.bump(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
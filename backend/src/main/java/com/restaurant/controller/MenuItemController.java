@@ -1,15 +1,38 @@
 package com.restaurant.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.restaurant.dto.MenuChangesResponse;
+import com.restaurant.dto.MenuImportResult;
+import com.restaurant.dto.MenuQuery;
+import com.restaurant.dto.MenuSuggestion;
 import com.restaurant.model.MenuItem;
 import com.restaurant.repository.MenuItemRepository;
+import com.restaurant.service.MenuCatalogService;
+import com.restaurant.service.MenuQueryService;
+import com.restaurant.service.MenuSnapshot;
+import com.restaurant.service.MenuTransferService;
+import com.restaurant.service.PopularItemsService;
+import com.restaurant.service.ResourceVersionService;
+import com.restaurant.service.StockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -20,33 +43,152 @@ public class MenuItemController {
     private MenuItemRepository menuItemRepository;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private MenuCatalogService menuCatalogService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private MenuQueryService menuQueryService;
+
+    @Autowired
+    private MenuTransferService menuTransferService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private PopularItemsService popularItemsService;
 
     @GetMapping
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemRepository.findAll();
+    public ResponseEntity<?> getAllMenuItems(MenuQuery query, WebRequest request) {
+        if (!query.isEmpty()) {
+            try {
+                return ResponseEntity.ok(menuQueryService.query(query));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        MenuSnapshot snapshot = menuCatalogService.getSnapshot();
+        if (request.checkNotModified(resourceVersionService.etag(ResourceVersionService.MENU, snapshot.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .header("X-Menu-Version", String.valueOf(snapshot.getVersion()))
+                .body(snapshot.getJson());
+    }
+
+    @GetMapping("/changes")
+    public MenuChangesResponse getMenuChanges(@RequestParam long since) {
+        return menuCatalogService.getChangesSince(since);
+    }
+
+    @GetMapping("/search")
+    public List<MenuItem> searchMenuItems(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return menuCatalogService.search(q, Math.min(Math.max(limit, 1), 100));
+    }
+
+    @GetMapping("/search/suggest")
+    public List<MenuSuggestion> suggestMenuItems(@RequestParam String q, @RequestParam(defaultValue = "8") int limit) {
+        return menuCatalogService.search(q, Math.min(Math.max(limit, 1), 20)).stream()
+                .map(item -> new MenuSuggestion(item.getId(), item.getName(), item.getCategory()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Best sellers over a decaying window: hour, day or week.
+     */
+    @GetMapping("/popular")
+    public ResponseEntity<?> getPopularItems(@RequestParam(defaultValue = "day") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        PopularItemsService.Window parsed;
+        try {
+            parsed = PopularItemsService.Window.parse(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        int capped = Math.min(Math.max(limit, 1), popularItemsService.getCapacity());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(popularItemsService.getTop(parsed, capped));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
-        return menuItemRepository.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        MenuItem item = menuCatalogService.getSnapshot().getItem(id);
+        return item != null ? ResponseEntity.ok(item) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/category/{category}")
     public List<MenuItem> getMenuItemsByCategory(@PathVariable String category) {
-        return menuItemRepository.findByCategory(category);
+        return menuCatalogService.getSnapshot().getItemsByCategory(category);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public MenuItem createMenuItem(@Valid @RequestBody MenuItem menuItem) {
+        menuItem.setCategory(menuCatalogService.canonicalCategory(menuItem.getCategory()));
         MenuItem savedItem = menuItemRepository.save(menuItem);
-        messagingTemplate.convertAndSend("/topic/menu", "UPDATE");
+        menuCatalogService.itemSaved(savedItem, true);
         return savedItem;
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importMenuItems(HttpServletRequest request) {
+        try {
+            String contentType = request.getContentType();
+            MenuImportResult result;
+            if (contentType != null && contentType.startsWith("text/csv")) {
+                result = menuTransferService.importCsv(new BufferedReader(
+                        new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)));
+            } else {
+                result = menuTransferService.importJson(request.getInputStream());
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return ResponseEntity.badRequest().body("Import failed: " + e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Import failed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportMenuItems(@RequestParam(defaultValue = "csv") String format) {
+        boolean json = "json".equalsIgnoreCase(format);
+        StreamingResponseBody body = json ? menuTransferService::exportJson : menuTransferService::exportCsv;
+        return ResponseEntity.ok()
+                .contentType(json ? MediaType.APPLICATION_JSON : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"menu." + (json ? "json" : "csv") + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/stock")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<Long, Integer> getStockLevels() {
+        return stockService.getLevels();
+    }
+
+    /**
+     * Sets an item's stock level. A null quantity stops tracking stock for it.
+     */
+    @PutMapping("/{id}/stock")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateStockLevel(@PathVariable Long id, @RequestBody Map<String, Integer> body) {
+        Integer quantity = body.get("quantity");
+        if (quantity != null && quantity < 0) {
+            return ResponseEntity.badRequest().body("Quantity must not be negative");
+        }
+        if (menuCatalogService.getSnapshot().getItem(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        stockService.setLevel(id, quantity);
+        return ResponseEntity.ok(stockService.getLevels());
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<MenuItem> updateMenuItem(@PathVariable Long id,
@@ -56,12 +198,12 @@ public class MenuItemController {
                     menuItem.setName(menuItemDetails.getName());
                     menuItem.setDescription(menuItemDetails.getDescription());
                     menuItem.setPrice(menuItemDetails.getPrice());
-                    menuItem.setCategory(menuItemDetails.getCategory());
+                    menuItem.setCategory(menuCatalogService.canonicalCategory(menuItemDetails.getCategory()));
                     menuItem.setImageUrl(menuItemDetails.getImageUrl());
                     menuItem.setAvailable(menuItemDetails.getAvailable());
                     menuItem.setIsVeg(menuItemDetails.getIsVeg());
                     MenuItem updatedItem = menuItemRepository.save(menuItem);
-                    messagingTemplate.convertAndSend("/topic/menu", "UPDATE");
+                    menuCatalogService.itemSaved(updatedItem, false);
                     return ResponseEntity.ok(updatedItem);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -73,7 +215,8 @@ public class MenuItemController {
         return menuItemRepository.findById(id)
                 .map(menuItem -> {
                     menuItemRepository.delete(menuItem);
-                    messagingTemplate.convertAndSend("/topic/menu", "UPDATE");
+                    menuCatalogService.itemRemoved(id);
+                    stockService.forget(id);
                     return ResponseEntity.ok().build();
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -1,27 +1,48 @@
 package com.restaurant.controller;
 
+import com.restaurant.dto.CursorPage;
+import com.restaurant.dto.OrderEta;
+import com.restaurant.dto.OrderQuery;
 import com.restaurant.dto.OrderResponse;
+import com.restaurant.dto.OrderStatusUpdate;
 import com.restaurant.model.Order;
 import com.restaurant.model.User;
 import com.restaurant.repository.OrderRepository;
 import com.restaurant.repository.UserRepository;
-import com.restaurant.repository.MenuItemRepository;
-import com.restaurant.service.AdminDashboardService;
+import com.restaurant.service.EtaService;
+import com.restaurant.service.IdempotencyService;
+import com.restaurant.service.KitchenAdmissionService;
+import com.restaurant.service.OrderExportService;
+import com.restaurant.service.OrderQueryService;
 import com.restaurant.service.OrderService;
+import com.restaurant.service.ResourceVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+
+    private static final int MAX_BATCH_SIZE = 200;
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -29,121 +50,240 @@ public class OrderController {
     private UserRepository userRepository;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private OrderService orderService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
 
     @Autowired
-    private AdminDashboardService adminDashboardService;
+    private OrderExportService orderExportService;
 
     @Autowired
-    private OrderService orderService;
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private KitchenAdmissionService kitchenAdmissionService;
+
+    @Autowired
+    private EtaService etaService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public List<OrderResponse> getAllOrders() {
-        return orderService.getAllOrders();
+    public ResponseEntity<?> getAllOrders(OrderQuery query) {
+        try {
+            return ResponseEntity.ok(orderQueryService.query(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
+    /**
+     * The caller's orders, newest first, a page at a time. The ETag covers every
+     * page, since it changes whenever any of the caller's orders does.
+     */
     @GetMapping("/my")
-    public List<OrderResponse> getMyOrders(Authentication authentication) {
+    public ResponseEntity<?> getMyOrders(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit, Authentication authentication, WebRequest request) {
+        String etag = resourceVersionService.etag(ResourceVersionService.userOrders(authentication.getName()));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         User user = userRepository.findByUsernameOrEmail(authentication.getName(), authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return orderService.getOrdersByUser(user);
+        OrderQuery query = new OrderQuery();
+        query.setCursor(cursor);
+        query.setLimit(limit);
+        CursorPage<OrderResponse> page;
+        try {
+            page = orderQueryService.query(query, user.getId());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .body(page);
+    }
+
+    /**
+     * Current ready and delivery estimates for the user's active orders. Updates
+     * are pushed on /topic/order-status/{userId} as they change.
+     */
+    @GetMapping("/my/eta")
+    public ResponseEntity<List<OrderEta>> getMyEtas(Authentication authentication) {
+        User user = userRepository.findByUsernameOrEmail(authentication.getName(), authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(etaService.getEtas(user.getId()));
+    }
+
+    /**
+     * Streams order lines as CSV, filtered by order date (inclusive) and status.
+     * Archived orders are included.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(OrderQuery query) {
+        Order.OrderStatus status;
+        try {
+            status = query.getStatusFilter();
+        } catch (IllegalArgumentException e) {
+            return plainBadRequest(e.getMessage());
+        }
+        if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+            return plainBadRequest("'from' must not be after 'to'");
+        }
+        StreamingResponseBody body = output -> orderExportService.exportCsv(query.getFrom(), query.getTo(), status,
+                output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"")
+                .body(body);
+    }
+
+    // Streaming endpoints cannot return a plain String body
+    private static ResponseEntity<byte[]> replayed(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotent-Replayed", "true")
+                .body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> plainBadRequest(String message) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(output -> output.write(message.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id, Authentication authentication) {
         return orderRepository.findById(id)
+                .map(orderService::mapToOrderResponse)
+                .or(() -> orderQueryService.findArchived(id))
                 .map(order -> {
-                    if (order.getUser().getUsername().equals(authentication.getName()) ||
+                    if (order.getUsername().equals(authentication.getName()) ||
                             authentication.getAuthorities().stream()
                                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                        return ResponseEntity.ok(orderService.mapToOrderResponse(order));
+                        return ResponseEntity.ok(order);
                     }
                     return ResponseEntity.status(403).<OrderResponse>build();
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @Autowired
-    private MenuItemRepository menuItemRepository;
-
+    /**
+     * Places an order. Runs outside any transaction so that requests waiting for
+     * kitchen capacity do not hold a database connection.
+     */
     @PostMapping
-    @org.springframework.transaction.annotation.Transactional
-    public ResponseEntity<?> createOrder(@Valid @RequestBody Order order, Authentication authentication) {
-        System.out.println("Processing order for: " + authentication.getName());
+    public ResponseEntity<?> createOrder(@Valid @RequestBody Order order,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication authentication) {
+        String username = authentication.getName();
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyService.MAX_KEY_LENGTH) {
+                return ResponseEntity.badRequest().body("Invalid Idempotency-Key");
+            }
+            byte[] replay;
+            try {
+                replay = idempotencyService.find(username, idempotencyKey, OrderService.requestSummary(order));
+            } catch (IdempotencyService.KeyReusedException e) {
+                return ResponseEntity.unprocessableEntity().body(e.getMessage());
+            }
+            if (replay != null) {
+                return replayed(replay);
+            }
+            if (!idempotencyService.begin(username, idempotencyKey)) {
+                return ResponseEntity.status(409).body("A request with this Idempotency-Key is already in progress");
+            }
+        }
         try {
-            User user = userRepository.findByUsernameOrEmail(authentication.getName(), authentication.getName())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            order.setUser(user);
-            order.setOrderDate(java.time.LocalDateTime.now());
-            order.setStatus(Order.OrderStatus.PENDING);
-
-            if (order.getOrderItems() != null) {
-                for (com.restaurant.model.OrderItem item : order.getOrderItems()) {
-                    item.setOrder(order);
-                    // Fetch full MenuItem to ensure it's attached to the persistence context
-                    if (item.getMenuItem() != null && item.getMenuItem().getId() != null) {
-                        com.restaurant.model.MenuItem fullItem = menuItemRepository.findById(item.getMenuItem().getId())
-                                .orElseThrow(() -> new RuntimeException(
-                                        "Menu item not found: " + item.getMenuItem().getId()));
-                        item.setMenuItem(fullItem);
+            if (!kitchenAdmissionService.admit()) {
+                return ResponseEntity.status(429)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(kitchenAdmissionService.getRetryAfterSeconds()))
+                        .body("The kitchen is at capacity right now. Please try again shortly.");
+            }
+            boolean placed = false;
+            try {
+                OrderResponse response = orderService.placeOrder(order, username, idempotencyKey);
+                placed = true;
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(409).body(e.getMessage());
+            } catch (DataIntegrityViolationException e) {
+                // Another instance placed the order with this key first
+                try {
+                    byte[] replay = idempotencyKey != null
+                            ? idempotencyService.find(username, idempotencyKey, OrderService.requestSummary(order))
+                            : null;
+                    if (replay != null) {
+                        return replayed(replay);
                     }
+                } catch (IdempotencyService.KeyReusedException reused) {
+                    return ResponseEntity.unprocessableEntity().body(reused.getMessage());
+                }
+                return ResponseEntity.status(409).body("Order conflicts with existing data, please retry");
+            } catch (Exception e) {
+                log.error("Order creation failed for {}", username, e);
+                return ResponseEntity.status(500).body("Order creation failed: " + e.getMessage());
+            } finally {
+                if (!placed) {
+                    kitchenAdmissionService.release();
                 }
             }
-
-            Order savedOrder = orderRepository.save(order);
-            System.out.println("Order saved with ID: " + savedOrder.getId());
-
-            // Map to response DTO immediately for WS and response
-            OrderResponse response = orderService.mapToOrderResponse(savedOrder);
-
-            // Fetch full order for WS notification
-            try {
-                messagingTemplate.convertAndSend("/topic/orders", response);
-                messagingTemplate.convertAndSend("/topic/admin/stats", adminDashboardService.getStats());
-            } catch (Exception wsError) {
-                System.err.println("WebSocket notification failed but order was saved: " + wsError.getMessage());
+        } finally {
+            if (idempotencyKey != null) {
+                idempotencyService.end(username, idempotencyKey);
             }
-
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            System.err.println("Order creation failed: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Order creation failed: " + e.getMessage());
         }
     }
 
     @PatchMapping("/{id}/status")
-    @org.springframework.transaction.annotation.Transactional
-    public ResponseEntity<OrderResponse> updateOrderStatus(@PathVariable Long id,
-            @RequestBody java.util.Map<String, String> statusUpdate) {
-        String statusStr = statusUpdate.get("status");
-        if (statusStr == null) {
-            return ResponseEntity.badRequest().build();
+    public ResponseEntity<?> updateOrderStatus(@PathVariable Long id,
+            @RequestBody java.util.Map<String, Object> statusUpdate) {
+        Order.OrderStatus status;
+        Long version = null;
+        try {
+            status = OrderService.parseStatus((String) statusUpdate.get("status"));
+            if (statusUpdate.get("version") != null) {
+                version = Long.valueOf(statusUpdate.get("version").toString());
+            }
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
 
-        Order.OrderStatus status = Order.OrderStatus.valueOf(statusStr.toUpperCase());
-
-        return orderRepository.findById(id)
-                .map(order -> {
-                    order.setStatus(status);
-                    Order updatedOrder = orderRepository.save(order);
-                    OrderResponse response = orderService.mapToOrderResponse(updatedOrder);
-
-                    try {
-                        messagingTemplate.convertAndSend("/topic/orders", response);
-                        messagingTemplate.convertAndSend("/topic/admin/stats", adminDashboardService.getStats());
-
-                        if (order.getUser() != null) {
-                            messagingTemplate.convertAndSend("/topic/order-status/" + order.getUser().getId(),
-                                    response);
-                        }
-                    } catch (Exception wsError) {
-                        System.err.println("WS notification error: " + wsError.getMessage());
-                    }
+        try {
+            return orderService.updateStatus(id, status, version)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException | ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(e instanceof IllegalStateException
+                    ? e.getMessage() : "Order was modified concurrently, please retry");
+        }
+    }
 
-                    return ResponseEntity.ok(response);
-                })
-                .orElse(ResponseEntity.notFound().build());
+    /**
+     * Applies a batch of status changes in one transaction. Updates that fail
+     * validation are listed under "rejected" and do not affect the others.
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateOrderStatuses(@RequestBody java.util.List<OrderStatusUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            return ResponseEntity.badRequest().body("No updates given");
+        }
+        if (updates.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BATCH_SIZE + " updates per request");
+        }
+        try {
+            return ResponseEntity.ok(orderService.updateStatuses(updates));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body("An order in the batch was modified concurrently, please retry");
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,51 +1,40 @@
 package com.restaurant.controller;
 
 import com.restaurant.model.RestaurantStatus;
-import com.restaurant.repository.RestaurantStatusRepository;
+import com.restaurant.service.ResourceVersionService;
+import com.restaurant.service.RestaurantStatusService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/restaurant-status")
 public class RestaurantStatusController {
 
     @Autowired
-    private RestaurantStatusRepository restaurantStatusRepository;
+    private RestaurantStatusService restaurantStatusService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private ResourceVersionService resourceVersionService;
 
     @GetMapping
-    public RestaurantStatus getStatus() {
-        return restaurantStatusRepository.findById(1L)
-                .orElseGet(() -> {
-                    RestaurantStatus defaultStatus = new RestaurantStatus();
-                    defaultStatus.setId(1L);
-                    return restaurantStatusRepository.save(defaultStatus);
-                });
+    public ResponseEntity<RestaurantStatus> getStatus(WebRequest request) {
+        if (request.checkNotModified(resourceVersionService.etag(ResourceVersionService.RESTAURANT_STATUS))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(restaurantStatusService.getStatus());
     }
 
     @PutMapping
     @PreAuthorize("hasRole('ADMIN')")
     public RestaurantStatus updateStatus(@RequestBody RestaurantStatus newStatus) {
-        RestaurantStatus status = restaurantStatusRepository.findById(1L)
-                .orElseGet(() -> {
-                    RestaurantStatus s = new RestaurantStatus();
-                    s.setId(1L);
-                    return s;
-                });
-
-        status.setOpen(newStatus.isOpen());
-        status.setStatusMessage(newStatus.getStatusMessage());
-        status.setEstimatedWaitTime(newStatus.getEstimatedWaitTime());
-
-        RestaurantStatus updated = restaurantStatusRepository.save(status);
-
-        // Notify all clients of status change
-        messagingTemplate.convertAndSend("/topic/restaurant-status", updated);
-
-        return updated;
+        return restaurantStatusService.update(status -> {
+            status.setOpen(newStatus.isOpen());
+            status.setStatusMessage(newStatus.getStatusMessage());
+            status.setEstimatedWaitTime(newStatus.getEstimatedWaitTime());
+        });
     }
 }
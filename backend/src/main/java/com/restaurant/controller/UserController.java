@@ -2,6 +2,7 @@ package com.restaurant.controller;
 
 import com.restaurant.model.User;
 import com.restaurant.repository.UserRepository;
+import com.restaurant.repository.OrderArchiveRepository;
 import com.restaurant.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,12 +22,15 @@ public class UserController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
     @GetMapping("/profile")
     public ResponseEntity<?> getUserProfile(Authentication authentication) {
         User user = userRepository.findByUsernameOrEmail(authentication.getName(), authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        long totalOrders = orderRepository.countByUser(user);
+        long totalOrders = orderRepository.countByUser(user) + orderArchiveRepository.countByUser(user);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", user.getId());
@@ -11,6 +11,7 @@ public class AdminStatsDTO {
     private double averageRating;
     private long totalReviews;
     private long customerFeedbackCount;
+    private long sequence; // increases with every broadcast on /topic/admin/stats
 
     public AdminStatsDTO(long totalOrdersToday, long pendingOrders, BigDecimal totalRevenue, double avgOrderValue,
             int activeTables, double averageRating, long totalReviews, long customerFeedbackCount) {
@@ -88,4 +89,12 @@ public class AdminStatsDTO {
     public void setCustomerFeedbackCount(long customerFeedbackCount) {
         this.customerFeedbackCount = customerFeedbackCount;
     }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
 }
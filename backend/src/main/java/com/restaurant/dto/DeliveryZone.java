@@ -0,0 +1,35 @@
+package com.restaurant.dto;
+
+/**
+ * A named delivery area. The polygon is a list of [latitude, longitude] corners
+ * in order; it is closed implicitly, so the first corner need not be repeated.
+ */
+public class DeliveryZone {
+
+    private String name;
+    private double[][] polygon;
+
+    public DeliveryZone() {
+    }
+
+    public DeliveryZone(String name, double[][] polygon) {
+        this.name = name;
+        this.polygon = polygon;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double[][] getPolygon() {
+        return polygon;
+    }
+
+    public void setPolygon(double[][] polygon) {
+        this.polygon = polygon;
+    }
+}
@@ -0,0 +1,46 @@
+package com.restaurant.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Orders proposed to go out together with one rider. The first order is the
+ * one the batch was built around; the rest are sorted by distance from it.
+ */
+public class DispatchBatch {
+
+    private final List<NearbyOrder> orders;
+    private final double centerLatitude;
+    private final double centerLongitude;
+    private final LocalDateTime readyFrom;
+    private final LocalDateTime readyTo;
+
+    public DispatchBatch(List<NearbyOrder> orders, double centerLatitude, double centerLongitude,
+            LocalDateTime readyFrom, LocalDateTime readyTo) {
+        this.orders = orders;
+        this.centerLatitude = centerLatitude;
+        this.centerLongitude = centerLongitude;
+        this.readyFrom = readyFrom;
+        this.readyTo = readyTo;
+    }
+
+    public List<NearbyOrder> getOrders() {
+        return orders;
+    }
+
+    public double getCenterLatitude() {
+        return centerLatitude;
+    }
+
+    public double getCenterLongitude() {
+        return centerLongitude;
+    }
+
+    public LocalDateTime getReadyFrom() {
+        return readyFrom;
+    }
+
+    public LocalDateTime getReadyTo() {
+        return readyTo;
+    }
+}
@@ -0,0 +1,48 @@
+package com.restaurant.dto;
+
+public class ImageUploadResponse {
+
+    private String hash;
+    private String url;
+    private String thumbnailUrl;
+    private String cardUrl;
+
+    public ImageUploadResponse(String hash, String url, String thumbnailUrl, String cardUrl) {
+        this.hash = hash;
+        this.url = url;
+        this.thumbnailUrl = thumbnailUrl;
+        this.cardUrl = cardUrl;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getCardUrl() {
+        return cardUrl;
+    }
+
+    public void setCardUrl(String cardUrl) {
+        this.cardUrl = cardUrl;
+    }
+}
@@ -0,0 +1,44 @@
+package com.restaurant.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A change to one station's queue, as sent on /topic/kitchen/{station}. Tickets
+ * in "added" are new; ids in "removed" were bumped or their order left the
+ * kitchen.
+ */
+public class KitchenStationUpdate {
+
+    private String station;
+    private List<KitchenTicket> added = new ArrayList<>();
+    private List<Long> removed = new ArrayList<>();
+
+    public KitchenStationUpdate(String station) {
+        this.station = station;
+    }
+
+    public String getStation() {
+        return station;
+    }
+
+    public void setStation(String station) {
+        this.station = station;
+    }
+
+    public List<KitchenTicket> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<KitchenTicket> added) {
+        this.added = added;
+    }
+
+    public List<Long> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<Long> removed) {
+        this.removed = removed;
+    }
+}
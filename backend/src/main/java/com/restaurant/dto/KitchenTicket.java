@@ -0,0 +1,68 @@
+package com.restaurant.dto;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * One order line as shown on a kitchen station. The id is the order item id.
+ */
+public class KitchenTicket {
+
+    /** Most urgent first: earliest promise, then oldest line. */
+    public static final Comparator<KitchenTicket> BY_PROMISE = Comparator
+            .comparing(KitchenTicket::getPromisedAt)
+            .thenComparing(KitchenTicket::getId);
+
+    private final Long id;
+    private final Long orderId;
+    private final String station;
+    private final String name;
+    private final Integer quantity;
+    private final String customer;
+    private final LocalDateTime orderedAt;
+    private final LocalDateTime promisedAt;
+
+    public KitchenTicket(Long id, Long orderId, String station, String name, Integer quantity, String customer,
+            LocalDateTime orderedAt, LocalDateTime promisedAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.station = station;
+        this.name = name;
+        this.quantity = quantity;
+        this.customer = customer;
+        this.orderedAt = orderedAt;
+        this.promisedAt = promisedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getStation() {
+        return station;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public String getCustomer() {
+        return customer;
+    }
+
+    public LocalDateTime getOrderedAt() {
+        return orderedAt;
+    }
+
+    public LocalDateTime getPromisedAt() {
+        return promisedAt;
+    }
+}
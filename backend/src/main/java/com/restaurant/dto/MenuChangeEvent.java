@@ -0,0 +1,54 @@
+package com.restaurant.dto;
+
+import com.restaurant.model.MenuItem;
+
+public class MenuChangeEvent {
+
+    public enum Type {
+        ADDED, UPDATED, REMOVED, RELOAD
+    }
+
+    private Type type;
+    private long version;
+    private Long itemId;
+    private MenuItem item; // null for REMOVED and RELOAD
+
+    public MenuChangeEvent(Type type, long version, Long itemId, MenuItem item) {
+        this.type = type;
+        this.version = version;
+        this.itemId = itemId;
+        this.item = item;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public MenuItem getItem() {
+        return item;
+    }
+
+    public void setItem(MenuItem item) {
+        this.item = item;
+    }
+}
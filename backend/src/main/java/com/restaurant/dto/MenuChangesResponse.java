@@ -0,0 +1,40 @@
+package com.restaurant.dto;
+
+import java.util.List;
+
+public class MenuChangesResponse {
+
+    private long version;
+    private boolean resyncRequired; // true when the requested version is older than the retained change log
+    private List<MenuChangeEvent> changes;
+
+    public MenuChangesResponse(long version, boolean resyncRequired, List<MenuChangeEvent> changes) {
+        this.version = version;
+        this.resyncRequired = resyncRequired;
+        this.changes = changes;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    public void setResyncRequired(boolean resyncRequired) {
+        this.resyncRequired = resyncRequired;
+    }
+
+    public List<MenuChangeEvent> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<MenuChangeEvent> changes) {
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,104 @@
+package com.restaurant.dto;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Query parameters accepted by {@code GET /api/menu}. When none are given the
+ * full menu snapshot is returned instead of a page.
+ */
+public class MenuQuery {
+
+    public enum SortOrder {
+        ID, PRICE_ASC, PRICE_DESC, NAME, POPULAR
+    }
+
+    private String category;
+    private Boolean veg;
+    private Boolean available;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String sort;
+    private String cursor;
+    private Integer limit;
+
+    public boolean isEmpty() {
+        return category == null && veg == null && available == null && minPrice == null && maxPrice == null
+                && sort == null && cursor == null && limit == null;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Boolean getVeg() {
+        return veg;
+    }
+
+    public void setVeg(Boolean veg) {
+        this.veg = veg;
+    }
+
+    public Boolean getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Boolean available) {
+        this.available = available;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public SortOrder getSortOrder() {
+        if (sort == null) {
+            return SortOrder.ID;
+        }
+        try {
+            return SortOrder.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + sort);
+        }
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
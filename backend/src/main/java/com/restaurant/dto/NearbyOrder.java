@@ -0,0 +1,51 @@
+package com.restaurant.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * An active delivery order near some point, with its straight-line distance.
+ */
+public class NearbyOrder {
+
+    private final Long orderId;
+    private final String status;
+    private final double latitude;
+    private final double longitude;
+    private final double distanceKm;
+    private final LocalDateTime readyAt;
+
+    public NearbyOrder(Long orderId, String status, double latitude, double longitude, double distanceKm,
+            LocalDateTime readyAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanceKm = distanceKm;
+        this.readyAt = readyAt;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    /** When the order was, or is expected to be, ready to leave the kitchen. */
+    public LocalDateTime getReadyAt() {
+        return readyAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.restaurant.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estimated times for one active order, as sent on /topic/order-status/{userId}.
+ * The "type" field tells these frames apart from the order updates sent on the
+ * same topic.
+ */
+public class OrderEta {
+
+    public static final String TYPE = "ETA";
+
+    private final Long orderId;
+    private final String status;
+    private final LocalDateTime readyAt;
+    private final LocalDateTime deliveredBy;
+
+    public OrderEta(Long orderId, String status, LocalDateTime readyAt, LocalDateTime deliveredBy) {
+        this.orderId = orderId;
+        this.status = status;
+        this.readyAt = readyAt;
+        this.deliveredBy = deliveredBy;
+    }
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /** When the kitchen should be done with the order. */
+    public LocalDateTime getReadyAt() {
+        return readyAt;
+    }
+
+    /** When the order should reach the customer. */
+    public LocalDateTime getDeliveredBy() {
+        return deliveredBy;
+    }
+}
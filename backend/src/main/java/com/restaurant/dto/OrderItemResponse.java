@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 
 public class OrderItemResponse {
     private Long id;
+    private Long menuItemId;
     private String name;
     private Integer quantity;
     private BigDecimal price;
@@ -23,6 +24,14 @@ public class OrderItemResponse {
         this.id = id;
     }
 
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
     public String getName() {
         return name;
     }
@@ -1,7 +1,10 @@
 package com.restaurant.dto;
 
+import com.restaurant.model.Order;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public class OrderResponse {
@@ -15,6 +18,9 @@ public class OrderResponse {
     private String deliveryAddress;
     private String phoneNumber;
     private List<OrderItemResponse> orderItems;
+    private Long version;
+    private Double latitude;
+    private Double longitude;
 
     public OrderResponse(Long id, String username, String fullName,
             String status, BigDecimal totalAmount,
@@ -31,6 +37,15 @@ public class OrderResponse {
         this.orderItems = orderItems;
     }
 
+    // Used by JPQL constructor projections; lines are attached afterwards
+    public OrderResponse(Long id, String username, String fullName,
+            Order.OrderStatus status, BigDecimal totalAmount,
+            LocalDateTime orderDate, String deliveryAddress, String phoneNumber, Long version) {
+        this(id, username != null ? username : "Guest", fullName != null ? fullName : "Guest",
+                status.name(), totalAmount, orderDate, deliveryAddress, phoneNumber, new ArrayList<>());
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -102,4 +117,28 @@ public class OrderResponse {
     public void setOrderItems(List<OrderItemResponse> orderItems) {
         this.orderItems = orderItems;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
 }
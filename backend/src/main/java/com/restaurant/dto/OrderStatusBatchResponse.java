@@ -0,0 +1,52 @@
+package com.restaurant.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderStatusBatchResponse {
+
+    public static class Rejection {
+        private Long id;
+        private String reason;
+
+        public Rejection(Long id, String reason) {
+            this.id = id;
+            this.reason = reason;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    private List<OrderResponse> updated = new ArrayList<>();
+    private List<Rejection> rejected = new ArrayList<>();
+
+    public List<OrderResponse> getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(List<OrderResponse> updated) {
+        this.updated = updated;
+    }
+
+    public List<Rejection> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<Rejection> rejected) {
+        this.rejected = rejected;
+    }
+}
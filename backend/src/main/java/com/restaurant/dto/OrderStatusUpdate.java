@@ -0,0 +1,32 @@
+package com.restaurant.dto;
+
+public class OrderStatusUpdate {
+
+    private Long id;
+    private String status;
+    private Long version; // optional; when given the order must still be at this version
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
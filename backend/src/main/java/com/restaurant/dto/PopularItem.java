@@ -0,0 +1,58 @@
+package com.restaurant.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A menu item with its recent sales, decayed so that older sales count for less.
+ * Sales may be overstated by up to {@code error} for items that entered the
+ * ranking late.
+ */
+public class PopularItem {
+
+    private final Long menuItemId;
+    private final String name;
+    private final String category;
+    private final BigDecimal price;
+    private final String imageUrl;
+    private final double sales;
+    private final double error;
+
+    public PopularItem(Long menuItemId, String name, String category, BigDecimal price, String imageUrl,
+            double sales, double error) {
+        this.menuItemId = menuItemId;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.imageUrl = imageUrl;
+        this.sales = sales;
+        this.error = error;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public double getSales() {
+        return sales;
+    }
+
+    public double getError() {
+        return error;
+    }
+}
@@ -0,0 +1,90 @@
+package com.restaurant.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A finished order moved out of the live orders table by the archiver. Same
+ * columns as {@link Order}, plus when it was archived. Rows are only ever
+ * inserted in bulk, never changed.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_order_date", columnList = "orderDate, id"),
+        @Index(name = "idx_orders_archive_status_date", columnList = "status, orderDate, id"),
+        @Index(name = "idx_orders_archive_user_date", columnList = "user_id, orderDate, id")
+})
+public class ArchivedOrder {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    private Order.OrderStatus status;
+
+    private BigDecimal totalAmount;
+
+    private String deliveryAddress;
+
+    private String phoneNumber;
+
+    private Double latitude;
+    private Double longitude;
+
+    private Long version;
+
+    private LocalDateTime archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getDeliveryAddress() {
+        return deliveryAddress;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
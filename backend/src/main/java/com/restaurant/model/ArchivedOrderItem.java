@@ -0,0 +1,57 @@
+package com.restaurant.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A line of an {@link ArchivedOrder}. Keys are kept as plain columns, so
+ * archived lines never block deleting a menu item.
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+    @Id
+    private Long id;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    private Integer quantity;
+
+    private BigDecimal price;
+
+    private LocalDateTime bumpedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public LocalDateTime getBumpedAt() {
+        return bumpedAt;
+    }
+}
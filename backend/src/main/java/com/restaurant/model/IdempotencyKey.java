@@ -0,0 +1,101 @@
+package com.restaurant.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response recorded for a client-supplied Idempotency-Key, so a retried
+ * request can be answered without running it again. Keys are scoped per user.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+})
+public class IdempotencyKey implements Persistable<String> {
+
+    // SHA-256 hex of the username and key, so the length is fixed whatever they are
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // SHA-256 hex of the request, so a key reused for a different one can be told apart
+    @Column(length = 64, nullable = false)
+    private String requestHash;
+
+    // A String @Lob would be longtext on MySQL; mediumtext (16 MB) is ample for an order
+    // response and is the type the migration creates
+    @Lob
+    @Column(nullable = false, columnDefinition = "mediumtext")
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Always inserted, never merged, so two racing requests cannot both succeed
+    @Transient
+    private boolean isNew = true;
+
+    public IdempotencyKey() {
+    }
+
+    public IdempotencyKey(String id, String requestHash, String response, LocalDateTime createdAt) {
+        this.id = id;
+        this.requestHash = requestHash;
+        this.response = response;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public void setResponse(String response) {
+        this.response = response;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -7,10 +7,17 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = {
+        @Index(name = "idx_menu_items_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_menu_items_available_price", columnList = "available, price, id"),
+        @Index(name = "idx_menu_items_price", columnList = "price, id"),
+        @Index(name = "idx_menu_items_name", columnList = "name, id"),
+        @Index(name = "idx_menu_items_stock", columnList = "stockQuantity")
+})
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class MenuItem {
     @Id
@@ -41,6 +48,12 @@ public class MenuItem {
     @NotNull
     private Boolean isVeg = true;
 
+    // null means stock is not tracked; live counts are held by StockService, which
+    // alone writes this column, so saving the entity never puts back a stale count
+    @JsonIgnore
+    @Column(updatable = false)
+    private Integer stockQuantity;
+
     public MenuItem() {
     }
 
@@ -114,4 +127,12 @@ public class MenuItem {
     public void setIsVeg(Boolean isVeg) {
         this.isVeg = isVeg;
     }
+
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
 }
\ No newline at end of file
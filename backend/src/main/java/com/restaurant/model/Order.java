@@ -1,16 +1,23 @@
 package com.restaurant.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import org.hibernate.annotations.ColumnDefault;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date", columnList = "orderDate, id"),
+        @Index(name = "idx_orders_status_date", columnList = "status, orderDate, id"),
+        @Index(name = "idx_orders_user_date", columnList = "user_id, orderDate, id")
+})
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Order {
     @Id
@@ -26,7 +33,7 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status = OrderStatus.PENDING;
 
-    @NotNull
+    // Set from the menu when the order is placed; a client-sent total is ignored
     private BigDecimal totalAmount;
 
     @Size(max = 500)
@@ -38,12 +45,35 @@ public class Order {
     private Double latitude;
     private Double longitude;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<OrderItem> orderItems;
 
     public enum OrderStatus {
-        PENDING, CONFIRMED, PREPARING, READY, DELIVERED, CANCELLED
+        PENDING, CONFIRMED, PREPARING, READY, DELIVERED, CANCELLED;
+
+        /**
+         * Statuses whose orders count towards revenue. Queries filter on this set
+         * rather than on status != CANCELLED, so the status index can be used.
+         */
+        public static final Set<OrderStatus> BILLABLE = Collections.unmodifiableSet(
+                EnumSet.complementOf(EnumSet.of(CANCELLED)));
+
+        /**
+         * Orders only move forward through the kitchen, possibly skipping steps,
+         * and can be cancelled until they are delivered. DELIVERED and CANCELLED
+         * are final.
+         */
+        public boolean canTransitionTo(OrderStatus next) {
+            if (this == DELIVERED || this == CANCELLED || next == this) {
+                return false;
+            }
+            return next == CANCELLED || next.ordinal() > ordinal();
+        }
     }
 
     public Order() {
@@ -128,6 +158,14 @@ public class Order {
         this.longitude = longitude;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<OrderItem> getOrderItems() {
         return orderItems;
     }
@@ -3,6 +3,7 @@ package com.restaurant.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -30,6 +31,9 @@ public class OrderItem {
     @NotNull
     private BigDecimal price;
 
+    // When the kitchen station marked this line done; null while it is still on a ticket
+    private LocalDateTime bumpedAt;
+
     public OrderItem() {
     }
 
@@ -79,4 +83,12 @@ public class OrderItem {
     public void setPrice(BigDecimal price) {
         this.price = price;
     }
+
+    public LocalDateTime getBumpedAt() {
+        return bumpedAt;
+    }
+
+    public void setBumpedAt(LocalDateTime bumpedAt) {
+        this.bumpedAt = bumpedAt;
+    }
 }
\ No newline at end of file
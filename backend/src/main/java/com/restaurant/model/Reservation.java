@@ -7,7 +7,11 @@ import java.time.LocalTime;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_user_date", columnList = "user_id, date, time"),
+        @Index(name = "idx_reservations_date", columnList = "date, time"),
+        @Index(name = "idx_reservations_status_date", columnList = "status, date, time")
+})
 public class Reservation {
 
     @Id
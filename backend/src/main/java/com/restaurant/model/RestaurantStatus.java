@@ -1,5 +1,6 @@
 package com.restaurant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -17,6 +18,10 @@ public class RestaurantStatus {
     private String statusMessage; // e.g., "Closed for maintenance", "We are currently experiencing high volume"
     private String estimatedWaitTime; // e.g., "30-45 mins"
 
+    // The admin's message while the kitchen-full notice replaces it, kept across restarts
+    @JsonIgnore
+    private String messageBeforeBusy;
+
     // Default constructor
     public RestaurantStatus() {
         this.isOpen = true; // Default open
@@ -54,4 +59,12 @@ public class RestaurantStatus {
     public void setEstimatedWaitTime(String estimatedWaitTime) {
         this.estimatedWaitTime = estimatedWaitTime;
     }
+
+    public String getMessageBeforeBusy() {
+        return messageBeforeBusy;
+    }
+
+    public void setMessageBeforeBusy(String messageBeforeBusy) {
+        this.messageBeforeBusy = messageBeforeBusy;
+    }
 }
@@ -2,13 +2,16 @@ package com.restaurant.repository;
 
 import com.restaurant.model.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long>, JpaSpecificationExecutor<MenuItem> {
     List<MenuItem> findByCategory(String category);
     List<MenuItem> findByAvailableTrue();
     List<MenuItem> findByCategoryAndAvailableTrue(String category);
+    // Stock levels are never negative, so ">= 0" picks out the tracked items as a range on the stock index
+    List<MenuItem> findByStockQuantityGreaterThanEqual(Integer quantity);
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.restaurant.repository;
+
+import com.restaurant.model.ArchivedOrder;
+import com.restaurant.model.Order;
+import com.restaurant.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("SELECT i.orderId AS orderId, i.id AS id, i.menuItemId AS menuItemId, m.name AS name, "
+            + "i.quantity AS quantity, i.price AS price "
+            + "FROM ArchivedOrderItem i LEFT JOIN MenuItem m ON m.id = i.menuItemId "
+            + "WHERE i.orderId IN :orderIds ORDER BY i.id")
+    List<OrderRepository.OrderLineView> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    long countByUser(User user);
+
+    @Query("SELECT SUM(o.totalAmount) FROM ArchivedOrder o WHERE o.status IN :statuses")
+    BigDecimal sumTotalAmount(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT MAX(o.orderDate) FROM ArchivedOrder o")
+    LocalDateTime findNewestOrderDate();
+}
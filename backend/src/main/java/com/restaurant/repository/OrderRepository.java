@@ -2,31 +2,112 @@ package com.restaurant.repository;
 
 import com.restaurant.model.Order;
 import com.restaurant.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.user LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.menuItem ORDER BY o.orderDate DESC")
-    List<Order> findAllWithUserAndItems();
+
+    interface OrderLineView {
+        Long getOrderId();
+
+        Long getId();
+
+        Long getMenuItemId();
+
+        String getName();
+
+        Integer getQuantity();
+
+        BigDecimal getPrice();
+    }
+
+    interface KitchenLineView {
+        Long getOrderId();
+
+        Long getId();
+
+        String getName();
+
+        String getCategory();
+
+        Integer getQuantity();
+
+        LocalDateTime getOrderDate();
+
+        String getCustomer();
+    }
+
+    interface DeliveryPointView {
+        Long getId();
+
+        Order.OrderStatus getStatus();
+
+        Double getLatitude();
+
+        Double getLongitude();
+
+        LocalDateTime getOrderDate();
+    }
+
+    interface EtaLineView {
+        Long getOrderId();
+
+        Long getUserId();
+
+        Order.OrderStatus getStatus();
+
+        LocalDateTime getOrderDate();
+
+        Long getMenuItemId();
+    }
+
+    @Query("SELECT i.order.id AS orderId, i.id AS id, m.id AS menuItemId, m.name AS name, i.quantity AS quantity, i.price AS price "
+            + "FROM OrderItem i LEFT JOIN i.menuItem m WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderLineView> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT o.id AS orderId, i.id AS id, m.name AS name, m.category AS category, "
+            + "i.quantity AS quantity, o.orderDate AS orderDate, COALESCE(u.fullName, u.username) AS customer "
+            + "FROM Order o JOIN o.orderItems i LEFT JOIN i.menuItem m LEFT JOIN o.user u "
+            + "WHERE o.status IN :statuses AND i.bumpedAt IS NULL")
+    List<KitchenLineView> findOpenKitchenLines(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT o.id AS id, o.status AS status, o.latitude AS latitude, o.longitude AS longitude, "
+            + "o.orderDate AS orderDate FROM Order o "
+            + "WHERE o.status IN :statuses AND o.latitude IS NOT NULL AND o.longitude IS NOT NULL")
+    List<DeliveryPointView> findDeliveryPoints(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT o.id AS orderId, o.user.id AS userId, o.status AS status, o.orderDate AS orderDate, "
+            + "i.menuItem.id AS menuItemId FROM Order o LEFT JOIN o.orderItems i WHERE o.status IN :statuses")
+    List<EtaLineView> findEtaLines(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    /**
+     * Loads orders together with their customer and lines, for code that maps
+     * many of them to responses at once.
+     */
+    @EntityGraph(attributePaths = { "user", "orderItems", "orderItems.menuItem" })
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
 
     List<Order> findByUser(User user);
 
     List<Order> findByStatus(Order.OrderStatus status);
 
-    List<Order> findByUserOrderByOrderDateDesc(User user);
-
     long countByUser(User user);
 
     long countByOrderDateAfter(LocalDateTime date);
 
     long countByStatus(Order.OrderStatus status);
 
-    @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.status != 'CANCELLED'")
-    BigDecimal sumTotalAmount();
+    long countByStatusIn(Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.status IN :statuses")
+    BigDecimal sumTotalAmount(@Param("statuses") Collection<Order.OrderStatus> statuses);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.restaurant.repository;
+
+import com.restaurant.model.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollup.Key> {
+
+    List<RevenueRollup> findByGranularityAndBucketStartBetweenOrderByBucketStart(
+            RevenueRollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+}
@@ -16,5 +16,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
-    Optional<User> findByUsernameOrEmail(String username, String email);
+    /**
+     * Two lookups on the unique username and email indexes, rather than one OR
+     * query that neither index can serve.
+     */
+    default Optional<User> findByUsernameOrEmail(String username, String email) {
+        return findByUsername(username).or(() -> findByEmail(email));
+    }
 }
\ No newline at end of file
@@ -6,9 +6,13 @@ import com.restaurant.model.Order;
 import com.restaurant.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -16,6 +20,10 @@ import java.time.LocalTime;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,10 +32,19 @@ public class AdminDashboardService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
     @Autowired
     @Lazy
     private OrderService orderService;
 
+    private volatile Counters counters;
+
+    // Events update the counters under the read lock, so they still run concurrently;
+    // a correction takes the write lock so no event lands between its reading and its adjustment
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
     public List<OrderResponse> getRecentOrders(int limit) {
         return orderRepository.findAll(PageRequest.of(0, limit, Sort.by("orderDate").descending()))
                 .getContent()
@@ -36,16 +53,17 @@ public class AdminDashboardService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Dashboard figures served from in-memory counters. The counters are seeded
+     * from the database, kept current from committed order events and reconciled
+     * against the database by {@link #reconcile()}.
+     */
     public AdminStatsDTO getStats() {
-        LocalDateTime startOfDay = LocalDateTime.of(LocalDate.now(), LocalTime.MIDNIGHT);
-
-        long totalOrdersToday = orderRepository.countByOrderDateAfter(startOfDay);
-        long pendingOrders = orderRepository.countByStatus(Order.OrderStatus.PENDING);
-        BigDecimal totalRevenue = orderRepository.sumTotalAmount();
-        if (totalRevenue == null)
-            totalRevenue = BigDecimal.ZERO;
-
-        long totalOrders = orderRepository.count();
+        Counters current = counters();
+        long totalOrdersToday = current.ordersOn(LocalDate.now());
+        long pendingOrders = current.pending.sum();
+        BigDecimal totalRevenue = BigDecimal.valueOf(current.revenueCents.sum(), 2);
+        long totalOrders = current.orders.sum();
         double avgOrderValue = totalOrders > 0 ? totalRevenue.doubleValue() / totalOrders : 0;
 
         // Standard mock values as used in the controller
@@ -64,4 +82,171 @@ public class AdminDashboardService {
                 totalReviews,
                 customerFeedbackCount);
     }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        if (counters == null) {
+            counters(); // as in onOrderEvent, the load already reflects the whole batch
+            return;
+        }
+        batch.getEvents().forEach(this::onOrderEvent);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE) // ahead of the stats push
+    public void onOrderEvent(OrderEvent event) {
+        Counters current = counters;
+        if (current == null) {
+            counters(); // loading now already includes this order
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            apply(current, event);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Counters current, OrderEvent event) {
+        OrderResponse order = event.getOrder();
+        long cents = toCents(order.getTotalAmount());
+        Order.OrderStatus status = event.getStatus();
+        Order.OrderStatus previous = event.getPreviousStatus();
+
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            current.orders.increment();
+            current.countOn(order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : LocalDate.now());
+            if (status == Order.OrderStatus.PENDING) {
+                current.pending.increment();
+            }
+            if (status != Order.OrderStatus.CANCELLED) {
+                current.revenueCents.add(cents);
+            }
+            return;
+        }
+
+        if (previous == null || previous == status) {
+            return;
+        }
+        if (previous == Order.OrderStatus.PENDING) {
+            current.pending.decrement();
+        } else if (status == Order.OrderStatus.PENDING) {
+            current.pending.increment();
+        }
+        if (status == Order.OrderStatus.CANCELLED) {
+            current.revenueCents.add(-cents);
+        } else if (previous == Order.OrderStatus.CANCELLED) {
+            current.revenueCents.add(cents);
+        }
+    }
+
+    /**
+     * Corrects drift from writes that bypassed the order events. Each counter is
+     * moved by the difference between the database total and its value when the
+     * query ran, rather than replaced. Events wait for the correction, so none is
+     * counted twice or lost between the reading and the adjustment.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Counters current = counters;
+        if (current == null) {
+            counters();
+            return;
+        }
+        correct(current);
+    }
+
+    private Counters counters() {
+        Counters current = counters;
+        if (current == null) {
+            synchronized (this) {
+                current = counters;
+                if (current == null) {
+                    current = load();
+                    counters = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Counters load() {
+        Counters loaded = new Counters(LocalDate.now());
+        correct(loaded);
+        return loaded;
+    }
+
+    private void correct(Counters target) {
+        LocalDate today = LocalDate.now();
+        Day day = target.dayOf(today);
+        if (day != null) {
+            correct(day.count, () -> orderRepository.countByOrderDateAfter(LocalDateTime.of(today, LocalTime.MIDNIGHT)));
+        }
+        correct(target.pending, () -> orderRepository.countByStatus(Order.OrderStatus.PENDING));
+        // Archived orders are all finished, so they only add to the all-time totals
+        correct(target.revenueCents, () -> toCents(orderRepository.sumTotalAmount(Order.OrderStatus.BILLABLE))
+                + toCents(orderArchiveService.getArchivedRevenue()));
+        correct(target.orders, () -> orderRepository.count() + orderArchiveService.getArchivedOrders());
+    }
+
+    // Held per counter, so events are only held up for the length of one query
+    private void correct(LongAdder counter, LongSupplier actual) {
+        lock.writeLock().lock();
+        try {
+            long seen = counter.sum();
+            counter.add(actual.getAsLong() - seen);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+
+    private static class Day {
+        final LocalDate date;
+        final LongAdder count = new LongAdder();
+
+        Day(LocalDate date) {
+            this.date = date;
+        }
+    }
+
+    private static class Counters {
+        final LongAdder orders = new LongAdder();
+        final LongAdder pending = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+        final AtomicReference<Day> today;
+
+        Counters(LocalDate date) {
+            this.today = new AtomicReference<>(new Day(date));
+        }
+
+        long ordersOn(LocalDate date) {
+            Day day = today.get();
+            return day.date.equals(date) ? day.count.sum() : 0;
+        }
+
+        void countOn(LocalDate date) {
+            Day day = dayOf(date);
+            if (day != null) {
+                day.count.increment();
+            }
+        }
+
+        // Rolls the bucket over at midnight; whichever thread swaps it in wins.
+        // Null if the bucket has already moved past the date.
+        Day dayOf(LocalDate date) {
+            Day day = today.get();
+            while (day.date.isBefore(date)) {
+                today.compareAndSet(day, new Day(date));
+                day = today.get();
+            }
+            return day.date.equals(date) ? day : null;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.AdminStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes dashboard stats on /topic/admin/stats at most once per interval. Order
+ * events only mark the stats dirty; each tick that finds them dirty builds one
+ * {@link AdminStatsDTO} for all admins, however many events came in.
+ *
+ * Nothing is built when no one is subscribed. Only authenticated sessions are
+ * visible to the user registry, which covers the admin app since it always
+ * connects with its token.
+ *
+ * Every broadcast carries the next sequence number, so clients can drop frames
+ * older than stats they already fetched.
+ */
+@Service
+public class AdminStatsPublisher {
+
+    public static final String TOPIC = "/topic/admin/stats";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private SimpUserRegistry userRegistry;
+
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        events.increment();
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        events.add(batch.getEvents().size());
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedRateString = "${app.stats.broadcast-interval-ms:2000}")
+    public void publish() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        // New subscribers fetch the stats themselves, so nothing is owed to them later
+        if (subscriberCount() == 0) {
+            skipped.increment();
+            return;
+        }
+        try {
+            AdminStatsDTO stats = adminDashboardService.getStats();
+            stats.setSequence(sequence.incrementAndGet());
+            messagingTemplate.convertAndSend(TOPIC, stats);
+            broadcasts.increment();
+        } catch (Exception e) {
+            failed.increment();
+            dirty.set(true);
+            System.err.println("Stats notification failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stats for a client fetching them directly, numbered like the last broadcast
+     * so that frames up to it can be ignored.
+     */
+    public AdminStatsDTO getStats() {
+        long current = sequence.get();
+        AdminStatsDTO stats = adminDashboardService.getStats();
+        stats.setSequence(current);
+        return stats;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("events", events.sum());
+        metrics.put("broadcasts", broadcasts.sum());
+        metrics.put("skippedNoSubscribers", skipped.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("sequence", sequence.get());
+        metrics.put("subscribers", subscriberCount());
+        return metrics;
+    }
+
+    private int subscriberCount() {
+        return userRegistry.findSubscriptions(subscription -> TOPIC.equals(subscription.getDestination())).size();
+    }
+}
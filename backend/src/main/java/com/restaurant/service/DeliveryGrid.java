@@ -0,0 +1,155 @@
+package com.restaurant.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Points bucketed into a grid of roughly 1.1 km cells. Cells are keyed row by
+ * row in a sorted map, so the cells of one row that fall inside a search box are
+ * a single range scan; a radius search costs one O(log n) lookup per row of the
+ * box plus the points it finds.
+ *
+ * A box that crosses the antimeridian is searched as two column ranges, and one
+ * that reaches a pole spans every longitude.
+ */
+public class DeliveryGrid {
+
+    static final double CELL_DEGREES = 0.01;
+    static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final long COLUMNS = (long) Math.ceil(360 / CELL_DEGREES) + 1;
+
+    public static final class Hit {
+        private final Long id;
+        private final double distanceKm;
+
+        Hit(Long id, double distanceKm) {
+            this.id = id;
+            this.distanceKm = distanceKm;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    private static final class Point {
+        final double latitude;
+        final double longitude;
+        final long cell;
+
+        Point(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell(latitude, longitude);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, Set<Long>> cells = new ConcurrentSkipListMap<>();
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+
+    public synchronized void put(Long id, double latitude, double longitude) {
+        remove(id);
+        Point point = new Point(latitude, longitude);
+        points.put(id, point);
+        cells.computeIfAbsent(point.cell, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    public synchronized void remove(Long id) {
+        Point point = points.remove(id);
+        if (point != null) {
+            cells.computeIfPresent(point.cell, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public boolean contains(Long id) {
+        return points.containsKey(id);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Points within radiusKm of the given position, nearest first.
+     */
+    public List<Hit> within(double latitude, double longitude, double radiusKm) {
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        long firstRow = row(Math.max(-90.0, latitude - latSpan));
+        long lastRow = row(Math.min(90.0, latitude + latSpan));
+
+        // {first, last} column ranges of the box, inclusive
+        List<long[]> columns = new ArrayList<>(2);
+        double lngSpan = Math.abs(latitude) + latSpan >= 90.0 ? 180.0
+                : radiusKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(Math.abs(latitude) + latSpan)));
+        if (lngSpan >= 180.0) {
+            columns.add(new long[] { column(-180.0), column(180.0) });
+        } else {
+            double west = longitude - lngSpan;
+            double east = longitude + lngSpan;
+            columns.add(new long[] { column(Math.max(-180.0, west)), column(Math.min(180.0, east)) });
+            if (west < -180.0) {
+                columns.add(new long[] { column(west + 360.0), column(180.0) });
+            } else if (east > 180.0) {
+                columns.add(new long[] { column(-180.0), column(east - 360.0) });
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            long base = row * COLUMNS;
+            for (long[] range : columns) {
+                for (Set<Long> ids : cells.subMap(base + range[0], true, base + range[1], true).values()) {
+                    for (Long id : ids) {
+                        Point point = points.get(id);
+                        if (point == null) {
+                            continue;
+                        }
+                        double distance = distanceKm(latitude, longitude, point.latitude, point.longitude);
+                        if (distance <= radiusKm) {
+                            hits.add(new Hit(id, distance));
+                        }
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparing(Hit::getId));
+        return hits;
+    }
+
+    /**
+     * Great-circle distance by the haversine formula.
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Rows hold one more column than there are cells across, so +180 never runs into the next row
+    static long cell(double latitude, double longitude) {
+        return row(latitude) * COLUMNS + column(longitude);
+    }
+
+    private static long row(double latitude) {
+        return (long) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static long column(double longitude) {
+        return (long) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+}
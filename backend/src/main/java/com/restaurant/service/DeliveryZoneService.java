@@ -0,0 +1,163 @@
+package com.restaurant.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.dto.DeliveryZone;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The areas we deliver to, read from a JSON file of {@link DeliveryZone}s. With
+ * no file configured every address is accepted.
+ *
+ * Orders placed without coordinates cannot be checked and are let through; the
+ * zone check applies to those that carry them.
+ */
+@Service
+public class DeliveryZoneService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.delivery.zones-file:}")
+    private String zonesFile;
+
+    private volatile List<Area> areas = List.of();
+
+    /** A zone together with its bounding box, checked before the polygon itself. */
+    private static final class Area {
+        final DeliveryZone zone;
+        final double minLat;
+        final double maxLat;
+        final double minLng;
+        final double maxLng;
+
+        Area(DeliveryZone zone) {
+            this.zone = zone;
+            double minLat = 90;
+            double maxLat = -90;
+            double minLng = 180;
+            double maxLng = -180;
+            for (double[] corner : zone.getPolygon()) {
+                minLat = Math.min(minLat, corner[0]);
+                maxLat = Math.max(maxLat, corner[0]);
+                minLng = Math.min(minLng, corner[1]);
+                maxLng = Math.max(maxLng, corner[1]);
+            }
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLng = minLng;
+            this.maxLng = maxLng;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (zonesFile == null || zonesFile.isBlank()) {
+            return;
+        }
+        DeliveryZone[] zones;
+        try {
+            zones = objectMapper.readValue(Path.of(zonesFile).toFile(), DeliveryZone[].class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read delivery zones from " + zonesFile, e);
+        }
+        List<Area> loaded = new ArrayList<>();
+        for (DeliveryZone zone : zones) {
+            String problem = validate(zone);
+            if (problem != null) {
+                throw new IllegalStateException("Invalid delivery zone in " + zonesFile + ": " + problem);
+            }
+            loaded.add(new Area(zone));
+        }
+        areas = List.copyOf(loaded);
+    }
+
+    public boolean isEnabled() {
+        return !areas.isEmpty();
+    }
+
+    public List<DeliveryZone> getZones() {
+        return areas.stream().map(area -> area.zone).toList();
+    }
+
+    /**
+     * Name of the first zone containing the point, or null if none does.
+     */
+    public String zoneOf(double latitude, double longitude) {
+        for (Area area : areas) {
+            if (latitude < area.minLat || latitude > area.maxLat
+                    || longitude < area.minLng || longitude > area.maxLng) {
+                continue;
+            }
+            if (contains(area.zone.getPolygon(), latitude, longitude)) {
+                return area.zone.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the coordinates given with an order.
+     *
+     * @throws IllegalArgumentException if they are incomplete, out of range, or
+     *         outside every delivery zone
+     */
+    public void checkDeliverable(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Both latitude and longitude are required");
+        }
+        if (!isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        if (isEnabled() && zoneOf(latitude, longitude) == null) {
+            throw new IllegalArgumentException("Sorry, we do not deliver to this address yet");
+        }
+    }
+
+    public static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    // Even-odd ray casting, with latitude as y and longitude as x
+    private static boolean contains(double[][] polygon, double latitude, double longitude) {
+        boolean inside = false;
+        for (int i = 0, j = polygon.length - 1; i < polygon.length; j = i++) {
+            double yi = polygon[i][0];
+            double xi = polygon[i][1];
+            double yj = polygon[j][0];
+            double xj = polygon[j][1];
+            if ((yi > latitude) != (yj > latitude)
+                    && longitude < (xj - xi) * (latitude - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static String validate(DeliveryZone zone) {
+        if (zone.getName() == null || zone.getName().isBlank()) {
+            return "a zone has no name";
+        }
+        if (zone.getPolygon() == null || zone.getPolygon().length < 3) {
+            return zone.getName() + " needs at least three corners";
+        }
+        for (double[] corner : zone.getPolygon()) {
+            if (corner == null || corner.length != 2 || !isValid(corner[0], corner[1])) {
+                return zone.getName() + " has a corner that is not a [latitude, longitude] pair";
+            }
+        }
+        return null;
+    }
+}
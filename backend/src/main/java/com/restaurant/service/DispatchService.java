@@ -0,0 +1,210 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.DispatchBatch;
+import com.restaurant.dto.NearbyOrder;
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.Order;
+import com.restaurant.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Active delivery orders indexed by where they are going, so that finding the
+ * orders near a given one never means scanning all of them. From the same index
+ * it proposes dispatch batches: orders close together that will be ready at
+ * about the same time.
+ *
+ * Only orders placed with coordinates are indexed. Ready times are the kitchen
+ * promise until an order actually reaches READY.
+ */
+@Service
+public class DispatchService {
+
+    static final Set<Order.OrderStatus> TRACKED = EnumSet.of(Order.OrderStatus.PENDING,
+            Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING, Order.OrderStatus.READY);
+
+    // Pending orders have not been accepted yet, so they are not dispatched
+    private static final Set<Order.OrderStatus> DISPATCHABLE = EnumSet.of(Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PREPARING, Order.OrderStatus.READY);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Value("${app.kitchen.promise-minutes:30}")
+    private long promiseMinutes;
+
+    private final DeliveryGrid grid = new DeliveryGrid();
+    private final Map<Long, Tracked> orders = new ConcurrentHashMap<>();
+
+    private static final class Tracked {
+        final Long id;
+        final double latitude;
+        final double longitude;
+        final Order.OrderStatus status;
+        final LocalDateTime readyAt;
+
+        Tracked(Long id, double latitude, double longitude, Order.OrderStatus status, LocalDateTime readyAt) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.status = status;
+            this.readyAt = readyAt;
+        }
+
+        NearbyOrder toNearby(double distanceKm) {
+            return new NearbyOrder(id, status.name(), latitude, longitude, distanceKm, readyAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (OrderRepository.DeliveryPointView point : orderRepository.findDeliveryPoints(TRACKED)) {
+            track(new Tracked(point.getId(), point.getLatitude(), point.getLongitude(), point.getStatus(),
+                    promiseFor(point.getOrderDate())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        batch.getEvents().forEach(this::apply);
+    }
+
+    /**
+     * Active delivery orders within radiusKm of the given one, nearest first.
+     * Empty if that order is not being tracked.
+     */
+    public Optional<List<NearbyOrder>> findNearby(Long orderId, double radiusKm) {
+        Tracked origin = orders.get(orderId);
+        if (origin == null) {
+            return Optional.empty();
+        }
+        List<NearbyOrder> result = new ArrayList<>();
+        for (DeliveryGrid.Hit hit : grid.within(origin.latitude, origin.longitude, radiusKm)) {
+            Tracked other = orders.get(hit.getId());
+            if (other != null && !other.id.equals(orderId)) {
+                result.add(other.toNearby(hit.getDistanceKm()));
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Groups dispatchable orders into batches, earliest ready first. Each batch
+     * is built around the earliest order not yet taken, and adds the nearest
+     * orders within radiusKm of it whose ready time is no more than
+     * windowMinutes away from its own, up to maxSize orders. An order with no
+     * suitable neighbours makes a batch on its own.
+     */
+    public List<DispatchBatch> proposeBatches(double radiusKm, long windowMinutes, int maxSize) {
+        List<Tracked> seeds = new ArrayList<>();
+        for (Tracked order : orders.values()) {
+            if (DISPATCHABLE.contains(order.status)) {
+                seeds.add(order);
+            }
+        }
+        seeds.sort(Comparator.comparing((Tracked order) -> order.readyAt).thenComparing(order -> order.id));
+
+        Duration window = Duration.ofMinutes(windowMinutes);
+        Set<Long> taken = new HashSet<>();
+        List<DispatchBatch> batches = new ArrayList<>();
+        for (Tracked seed : seeds) {
+            if (!taken.add(seed.id)) {
+                continue;
+            }
+            List<NearbyOrder> members = new ArrayList<>();
+            members.add(seed.toNearby(0));
+            for (DeliveryGrid.Hit hit : grid.within(seed.latitude, seed.longitude, radiusKm)) {
+                if (members.size() >= maxSize) {
+                    break;
+                }
+                Tracked other = orders.get(hit.getId());
+                if (other == null || taken.contains(other.id) || !DISPATCHABLE.contains(other.status)
+                        || Duration.between(seed.readyAt, other.readyAt).abs().compareTo(window) > 0) {
+                    continue;
+                }
+                taken.add(other.id);
+                members.add(other.toNearby(hit.getDistanceKm()));
+            }
+            batches.add(toBatch(members));
+        }
+        return batches;
+    }
+
+    public int getTrackedCount() {
+        return grid.size();
+    }
+
+    private void apply(OrderEvent event) {
+        OrderResponse order = event.getOrder();
+        Order.OrderStatus status = event.getStatus();
+        if (!TRACKED.contains(status)) {
+            untrack(order.getId());
+            return;
+        }
+        Tracked current = orders.get(order.getId());
+        if (current == null) {
+            if (order.getLatitude() == null || order.getLongitude() == null) {
+                return;
+            }
+            track(new Tracked(order.getId(), order.getLatitude(), order.getLongitude(), status,
+                    status == Order.OrderStatus.READY ? LocalDateTime.now() : promiseFor(order.getOrderDate())));
+        } else if (current.status != status) {
+            LocalDateTime readyAt = status == Order.OrderStatus.READY ? LocalDateTime.now() : current.readyAt;
+            orders.put(current.id, new Tracked(current.id, current.latitude, current.longitude, status, readyAt));
+        }
+    }
+
+    private void track(Tracked order) {
+        orders.put(order.id, order);
+        grid.put(order.id, order.latitude, order.longitude);
+    }
+
+    private void untrack(Long id) {
+        if (orders.remove(id) != null) {
+            grid.remove(id);
+        }
+    }
+
+    private static DispatchBatch toBatch(List<NearbyOrder> members) {
+        double latitude = 0;
+        double longitude = 0;
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (NearbyOrder member : members) {
+            latitude += member.getLatitude();
+            longitude += member.getLongitude();
+            if (from == null || member.getReadyAt().isBefore(from)) {
+                from = member.getReadyAt();
+            }
+            if (to == null || member.getReadyAt().isAfter(to)) {
+                to = member.getReadyAt();
+            }
+        }
+        return new DispatchBatch(members, latitude / members.size(), longitude / members.size(), from, to);
+    }
+
+    private LocalDateTime promiseFor(LocalDateTime orderedAt) {
+        return (orderedAt != null ? orderedAt : LocalDateTime.now()).plusMinutes(promiseMinutes);
+    }
+}
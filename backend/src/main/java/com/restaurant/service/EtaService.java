@@ -0,0 +1,353 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.OrderEta;
+import com.restaurant.dto.OrderItemResponse;
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.Order;
+import com.restaurant.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estimates when each active order will be ready and how long a new order would
+ * wait, and keeps the public wait time in the restaurant status up to date.
+ *
+ * Prep times are learned from the order events: the time from an order reaching
+ * PREPARING to reaching READY is one sample. It updates an exponentially
+ * weighted average for the kitchen as a whole and for the order's items. The
+ * sample measures the item the order was waiting on, the one currently thought
+ * slowest, and is an upper bound for the rest, which are only pulled down
+ * towards it. Items seen for the first time start from the sample.
+ *
+ * Ready times come from replaying the queue: preparing orders hold a kitchen
+ * slot until their estimate runs out, and waiting orders take the next free
+ * slot in the order they were placed. Everything is recomputed on each event;
+ * customers are only sent a new ETA when it has moved by a few minutes.
+ */
+@Service
+public class EtaService {
+
+    private static final Set<Order.OrderStatus> TRACKED = EnumSet.of(Order.OrderStatus.PENDING,
+            Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING, Order.OrderStatus.READY);
+
+    // Longer than this and the order was most likely left in PREPARING by mistake
+    private static final Duration MAX_SAMPLE = Duration.ofHours(3);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantStatusService restaurantStatusService;
+
+    @Autowired
+    private OrderNotificationService notificationService;
+
+    @Value("${app.eta.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.eta.default-prep-minutes:15}")
+    private double defaultPrepMinutes;
+
+    @Value("${app.eta.kitchen-slots:4}")
+    private int kitchenSlots;
+
+    @Value("${app.eta.delivery-minutes:15}")
+    private long deliveryMinutes;
+
+    @Value("${app.eta.min-change-minutes:3}")
+    private long minChangeMinutes;
+
+    // All state below is guarded by this
+    private final Map<Long, Double> itemPrepSeconds = new HashMap<>();
+    private double orderPrepSeconds = -1;
+    private long samples;
+    private final Map<Long, Tracked> orders = new HashMap<>();
+    private long waitMinutes = -1;
+    private long publishedWaitMinutes = -1;
+    private long generation;
+
+    // Generation of the wait time last written; only touched inside the serialised status update
+    private final AtomicLong writtenGeneration = new AtomicLong();
+
+    private static final class Tracked {
+        final Long id;
+        final Long userId;
+        final LocalDateTime orderedAt;
+        final Set<Long> items;
+        Order.OrderStatus status;
+        LocalDateTime startedAt; // reached PREPARING
+        LocalDateTime readyAt; // estimated, or actual once READY
+        LocalDateTime sentReadyAt;
+
+        Tracked(Long id, Long userId, LocalDateTime orderedAt, Set<Long> items, Order.OrderStatus status) {
+            this.id = id;
+            this.userId = userId;
+            this.orderedAt = orderedAt != null ? orderedAt : LocalDateTime.now();
+            this.items = items;
+            this.status = status;
+        }
+    }
+
+    private static final class Frame {
+        final String destination;
+        final OrderEta eta;
+
+        Frame(Long userId, OrderEta eta) {
+            this.destination = "/topic/order-status/" + userId;
+            this.eta = eta;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        String waitTime;
+        long current;
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now();
+            for (OrderRepository.EtaLineView line : orderRepository.findEtaLines(TRACKED)) {
+                Tracked order = orders.computeIfAbsent(line.getOrderId(), id -> new Tracked(id, line.getUserId(),
+                        line.getOrderDate(), new HashSet<>(), line.getStatus()));
+                if (line.getMenuItemId() != null) {
+                    order.items.add(line.getMenuItemId());
+                }
+                // When these actually started is not recorded; count from now
+                if (order.status == Order.OrderStatus.PREPARING) {
+                    order.startedAt = now;
+                } else if (order.status == Order.OrderStatus.READY) {
+                    order.readyAt = now;
+                }
+            }
+            send(recompute(now));
+            waitTime = nextWaitTime();
+            current = ++generation;
+        }
+        publishWaitTime(waitTime, current);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        update(List.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        update(batch.getEvents());
+    }
+
+    /**
+     * Current estimates for a customer's active orders.
+     */
+    public synchronized List<OrderEta> getEtas(Long userId) {
+        List<OrderEta> result = new ArrayList<>();
+        for (Tracked order : orders.values()) {
+            if (Objects.equals(order.userId, userId) && order.readyAt != null) {
+                result.add(toEta(order));
+            }
+        }
+        result.sort(Comparator.comparing(OrderEta::getOrderId));
+        return result;
+    }
+
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("tracked", orders.size());
+        metrics.put("samples", samples);
+        metrics.put("orderPrepMinutes", Math.round(orderPrep() / 6) / 10.0);
+        metrics.put("itemsLearned", itemPrepSeconds.size());
+        metrics.put("waitMinutes", waitMinutes);
+        return metrics;
+    }
+
+    private void update(List<OrderEvent> events) {
+        String waitTime;
+        long current;
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now();
+            events.forEach(event -> apply(event, now));
+            send(recompute(now));
+            waitTime = nextWaitTime();
+            current = ++generation;
+        }
+        publishWaitTime(waitTime, current);
+    }
+
+    void apply(OrderEvent event, LocalDateTime now) {
+        OrderResponse response = event.getOrder();
+        Order.OrderStatus status = event.getStatus();
+        if (!TRACKED.contains(status)) {
+            orders.remove(response.getId());
+            return;
+        }
+        Tracked order = orders.get(response.getId());
+        if (order == null) {
+            Set<Long> items = new HashSet<>();
+            if (response.getOrderItems() != null) {
+                for (OrderItemResponse line : response.getOrderItems()) {
+                    if (line.getMenuItemId() != null) {
+                        items.add(line.getMenuItemId());
+                    }
+                }
+            }
+            order = new Tracked(response.getId(), event.getUserId(), response.getOrderDate(), items, status);
+            orders.put(order.id, order);
+        }
+        if (status == Order.OrderStatus.PREPARING && order.startedAt == null) {
+            order.startedAt = now;
+        } else if (status == Order.OrderStatus.READY && order.status != Order.OrderStatus.READY) {
+            if (order.startedAt != null) {
+                learn(Duration.between(order.startedAt, now), order.items);
+            }
+            order.readyAt = now;
+        }
+        order.status = status;
+    }
+
+    private void learn(Duration sample, Set<Long> items) {
+        if (sample.isNegative() || sample.compareTo(MAX_SAMPLE) > 0) {
+            return;
+        }
+        double seconds = sample.toSeconds();
+        samples++;
+        orderPrepSeconds = orderPrepSeconds < 0 ? seconds : smooth(orderPrepSeconds, seconds);
+
+        Long slowest = null;
+        double slowestSeconds = -1;
+        for (Long item : items) {
+            Double estimate = itemPrepSeconds.get(item);
+            if (estimate != null && estimate > slowestSeconds) {
+                slowest = item;
+                slowestSeconds = estimate;
+            }
+        }
+        for (Long item : items) {
+            Double estimate = itemPrepSeconds.get(item);
+            if (estimate == null) {
+                itemPrepSeconds.put(item, seconds);
+            } else if (item.equals(slowest) || estimate > seconds) {
+                itemPrepSeconds.put(item, smooth(estimate, seconds));
+            }
+        }
+    }
+
+    private double smooth(double average, double sample) {
+        return average + smoothing * (sample - average);
+    }
+
+    /**
+     * Replays the kitchen queue to refresh every estimate, and returns the ETAs
+     * that moved far enough from what the customer was last sent.
+     */
+    List<Frame> recompute(LocalDateTime now) {
+        PriorityQueue<LocalDateTime> slots = new PriorityQueue<>();
+        List<Tracked> waiting = new ArrayList<>();
+        for (Tracked order : orders.values()) {
+            if (order.status == Order.OrderStatus.PREPARING) {
+                LocalDateTime ready = order.startedAt.plusSeconds(Math.round(prepSeconds(order)));
+                order.readyAt = ready.isAfter(now) ? ready : now;
+                slots.add(order.readyAt);
+            } else if (order.status != Order.OrderStatus.READY) {
+                waiting.add(order);
+            }
+        }
+        while (slots.size() < kitchenSlots) {
+            slots.add(now);
+        }
+        waiting.sort(Comparator.comparing((Tracked order) -> order.orderedAt).thenComparing(order -> order.id));
+        for (Tracked order : waiting) {
+            LocalDateTime start = slots.poll();
+            order.readyAt = start.plusSeconds(Math.round(prepSeconds(order)));
+            slots.add(order.readyAt);
+        }
+        // What a new order would get: the next free slot, then an average prep
+        LocalDateTime nextReady = slots.peek().plusSeconds(Math.round(orderPrep()));
+        waitMinutes = (long) Math.ceil(Duration.between(now, nextReady).toSeconds() / 60.0) + deliveryMinutes;
+
+        List<Frame> frames = new ArrayList<>();
+        Duration threshold = Duration.ofMinutes(minChangeMinutes);
+        for (Tracked order : orders.values()) {
+            if (order.userId == null || order.readyAt == null) {
+                continue;
+            }
+            if (order.sentReadyAt == null
+                    || Duration.between(order.sentReadyAt, order.readyAt).abs().compareTo(threshold) >= 0) {
+                order.sentReadyAt = order.readyAt;
+                frames.add(new Frame(order.userId, toEta(order)));
+            }
+        }
+        return frames;
+    }
+
+    private double prepSeconds(Tracked order) {
+        double longest = -1;
+        for (Long item : order.items) {
+            Double estimate = itemPrepSeconds.get(item);
+            if (estimate != null) {
+                longest = Math.max(longest, estimate);
+            }
+        }
+        return longest >= 0 ? longest : orderPrep();
+    }
+
+    private double orderPrep() {
+        return orderPrepSeconds >= 0 ? orderPrepSeconds : defaultPrepMinutes * 60;
+    }
+
+    private OrderEta toEta(Tracked order) {
+        return new OrderEta(order.id, order.status.name(), order.readyAt, order.readyAt.plusMinutes(deliveryMinutes));
+    }
+
+    /**
+     * The public wait time, as a 10 minute range starting on a multiple of 5, or
+     * null if it has not moved far enough since it was last published.
+     */
+    private String nextWaitTime() {
+        if (publishedWaitMinutes >= 0 && Math.abs(waitMinutes - publishedWaitMinutes) < minChangeMinutes) {
+            return null;
+        }
+        long from = Math.max(5, Math.round(waitMinutes / 5.0) * 5);
+        boolean first = publishedWaitMinutes < 0;
+        long publishedFrom = Math.max(5, Math.round(publishedWaitMinutes / 5.0) * 5);
+        publishedWaitMinutes = waitMinutes;
+        return !first && from == publishedFrom ? null : from + "-" + (from + 10) + " mins";
+    }
+
+    // Under the lock, so frames reach the single notification worker in the order computed
+    private void send(List<Frame> frames) {
+        for (Frame frame : frames) {
+            notificationService.send(frame.destination, frame.eta);
+        }
+    }
+
+    // Outside the lock, since the status update opens a transaction. Two updates can
+    // get here in either order; the generation keeps the older wait time from landing last.
+    void publishWaitTime(String waitTime, long current) {
+        if (waitTime == null) {
+            return;
+        }
+        restaurantStatusService.update(status -> {
+            if (current > writtenGeneration.get()) {
+                writtenGeneration.set(current);
+                status.setEstimatedWaitTime(waitTime);
+            }
+        });
+    }
+}
@@ -0,0 +1,190 @@
+package com.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.model.IdempotencyKey;
+import com.restaurant.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the response to each request made with an Idempotency-Key. Recent
+ * keys live in a bounded LRU map; every key is also written to the
+ * idempotency_keys table in the same transaction as the work it guards, so a
+ * replay is recognised after a restart or once the entry has been evicted.
+ *
+ * A hash of the request is kept with the response, so a key reused for a
+ * different request is rejected instead of replaying the first one. Keys older
+ * than the TTL are treated as unused, whether found in memory or in the table.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private int ttlHours;
+
+    private final Map<String, Entry> recent;
+
+    // Keys whose first request is still running
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private static final class Entry {
+        final byte[] body;
+        final String requestHash;
+        final LocalDateTime createdAt;
+
+        Entry(byte[] body, String requestHash, LocalDateTime createdAt) {
+            this.body = body;
+            this.requestHash = requestHash;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * A key used again with a different request.
+     */
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException() {
+            super("Idempotency-Key has already been used for a different request");
+        }
+    }
+
+    public IdempotencyService(@Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the stored response body for the key, or null if it has not been
+     * used yet or has expired.
+     *
+     * @throws KeyReusedException if the key was used for a different request
+     */
+    public byte[] find(String username, String key, Object request) {
+        String id = id(username, key);
+        Entry entry;
+        synchronized (recent) {
+            entry = recent.get(id);
+        }
+        if (entry == null) {
+            entry = idempotencyKeyRepository.findById(id)
+                    .map(stored -> new Entry(stored.getResponse().getBytes(StandardCharsets.UTF_8),
+                            stored.getRequestHash(), stored.getCreatedAt()))
+                    .orElse(null);
+            if (entry == null) {
+                return null;
+            }
+            remember(id, entry);
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+        if (entry.createdAt.isBefore(cutoff)) {
+            synchronized (recent) {
+                recent.remove(id);
+            }
+            // Cleared now rather than at the next purge, so the key can be recorded again
+            idempotencyKeyRepository.deleteExpired(id, cutoff);
+            return null;
+        }
+        if (!entry.requestHash.equals(hash(serialise(request)))) {
+            throw new KeyReusedException();
+        }
+        return entry.body;
+    }
+
+    /**
+     * Claims the key for the current request. Returns false when another request
+     * with the same key is already running. Every successful claim must be
+     * followed by {@link #end}.
+     */
+    public boolean begin(String username, String key) {
+        return inFlight.add(id(username, key));
+    }
+
+    public void end(String username, String key) {
+        inFlight.remove(id(username, key));
+    }
+
+    /**
+     * Stores the response for the key. Must be called inside the transaction
+     * doing the work, so the key and the work commit or roll back together.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if another
+     *         request has already stored a response for the key
+     */
+    public void record(String username, String key, Object request, Object response) {
+        String id = id(username, key);
+        String json = serialise(response);
+        String requestHash = hash(serialise(request));
+        LocalDateTime createdAt = LocalDateTime.now();
+        // Flushed now, so a key taken by a concurrent request fails here rather than at commit
+        idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(id, requestHash, json, createdAt));
+        Entry entry = new Entry(json.getBytes(StandardCharsets.UTF_8), requestHash, createdAt);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(id, entry);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+    }
+
+    private void remember(String id, Entry entry) {
+        synchronized (recent) {
+            recent.put(id, entry);
+        }
+    }
+
+    private String serialise(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    // The length prefix keeps "a:b" + "c" apart from "a" + "b:c"
+    private static String id(String username, String key) {
+        return hash(username.length() + ":" + username + ":" + key);
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
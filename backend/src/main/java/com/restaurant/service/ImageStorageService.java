@@ -0,0 +1,206 @@
+package com.restaurant.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store on the local filesystem. Files are named after a
+ * hash of the uploaded bytes, so a stored file never changes and uploading the
+ * same image twice is a no-op. Thumbnail and card variants are rendered once, at
+ * upload time.
+ */
+@Service
+public class ImageStorageService {
+
+    public static final String THUMB = "thumb";
+    public static final String CARD = "card";
+
+    private static final int THUMB_WIDTH = 240;
+    private static final int CARD_WIDTH = 720;
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{32}(-thumb|-card)?\\.(png|jpg|gif|bmp)");
+
+    @Value("${app.images.dir:data/images}")
+    private String baseDir;
+
+    public static class StoredImage {
+        private final String hash;
+        private final String original;
+
+        StoredImage(String hash, String original) {
+            this.hash = hash;
+            this.original = original;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getOriginal() {
+            return original;
+        }
+
+        public String getThumbnail() {
+            return hash + "-" + THUMB + ".jpg";
+        }
+
+        public String getCard() {
+            return hash + "-" + CARD + ".jpg";
+        }
+    }
+
+    public StoredImage store(byte[] bytes) throws IOException {
+        String format = detectFormat(bytes);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (image == null) {
+            throw new IllegalArgumentException("Unsupported image format");
+        }
+
+        String hash = hash(bytes);
+        StoredImage stored = new StoredImage(hash, hash + "." + format);
+
+        writeIfAbsent(stored.getOriginal(), bytes);
+        writeIfAbsent(stored.getThumbnail(), () -> jpeg(scaleToWidth(image, THUMB_WIDTH)));
+        writeIfAbsent(stored.getCard(), () -> jpeg(scaleToWidth(image, CARD_WIDTH)));
+        return stored;
+    }
+
+    /**
+     * Resolves a stored file by name, or returns null for names that are not
+     * ours or files that do not exist.
+     */
+    public Path resolve(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            return null;
+        }
+        Path path = pathFor(name);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    public static String contentType(String name) {
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        switch (extension) {
+            case "png":
+                return "image/png";
+            case "gif":
+                return "image/gif";
+            case "bmp":
+                return "image/bmp";
+            default:
+                return "image/jpeg";
+        }
+    }
+
+    // Sharded by hash prefix to keep directories small
+    private Path pathFor(String name) {
+        return Paths.get(baseDir).toAbsolutePath().resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private interface ImageBytes {
+        byte[] get() throws IOException;
+    }
+
+    private void writeIfAbsent(String name, byte[] bytes) throws IOException {
+        writeIfAbsent(name, () -> bytes);
+    }
+
+    private void writeIfAbsent(String name, ImageBytes bytes) throws IOException {
+        Path target = pathFor(name);
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), name, ".tmp");
+        try {
+            Files.write(temp, bytes.get());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String detectFormat(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input);
+                // Check dimensions before decoding so a tiny file cannot claim a huge bitmap
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IllegalArgumentException("Image dimensions too large");
+                }
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                switch (format) {
+                    case "png":
+                    case "gif":
+                    case "bmp":
+                        return format;
+                    case "jpeg":
+                    case "jpg":
+                        return "jpg";
+                    default:
+                        throw new IllegalArgumentException("Unsupported image format");
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage source, int width) {
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE); // JPEG has no alpha channel
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    // 128 bits of SHA-256 keeps URLs short while collisions stay out of reach
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
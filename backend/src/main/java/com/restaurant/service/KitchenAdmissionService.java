@@ -0,0 +1,240 @@
+package com.restaurant.service;
+
+import com.restaurant.model.Order;
+import com.restaurant.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits how many orders the kitchen has in hand. An order takes a slot when it
+ * is admitted and gives it back once it leaves the active statuses. When the
+ * kitchen is full a new order waits briefly for a slot, and is turned away if
+ * none frees up or too many are already waiting.
+ *
+ * While the kitchen is full the public status message says so; it is restored
+ * once load has dropped back below {@link #RECOVERY_RATIO} of capacity.
+ */
+@Service
+public class KitchenAdmissionService {
+
+    public static final Set<Order.OrderStatus> ACTIVE = EnumSet.of(
+            Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING);
+
+    static final String BUSY_MESSAGE = "We are currently experiencing high volume. New orders may be delayed.";
+    private static final double RECOVERY_RATIO = 0.8;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantStatusService restaurantStatusService;
+
+    @Value("${app.kitchen.capacity:30}")
+    private int capacity;
+
+    @Value("${app.kitchen.max-waiting:20}")
+    private int maxWaiting;
+
+    @Value("${app.kitchen.admission-wait-ms:2000}")
+    private long admissionWaitMs;
+
+    @Value("${app.kitchen.retry-after-seconds:30}")
+    private int retryAfterSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private int active;
+    private int waiting;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        // A busy message left over from before a restart is ours to clear
+        if (BUSY_MESSAGE.equals(restaurantStatusService.getStatus().getStatusMessage())) {
+            busy.set(true);
+        }
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.kitchen.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.kitchen.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long count = orderRepository.countByStatusIn(ACTIVE);
+        lock.lock();
+        try {
+            active = (int) count;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        updateStatusMessage();
+    }
+
+    /**
+     * Takes a slot for a new order, waiting up to the configured time for one to
+     * free up. Returns false if the order should be turned away. Must be called
+     * before any transaction is opened, so waiting requests hold no connection.
+     */
+    public boolean admit() {
+        boolean result;
+        lock.lock();
+        try {
+            if (active < capacity) {
+                result = true;
+            } else if (waiting >= maxWaiting) {
+                result = false;
+            } else {
+                queued.increment();
+                waiting++;
+                try {
+                    long remaining = TimeUnit.MILLISECONDS.toNanos(admissionWaitMs);
+                    while (active >= capacity && remaining > 0) {
+                        remaining = slotFreed.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    waiting--;
+                }
+                result = active < capacity;
+            }
+            if (result) {
+                active++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (result) {
+            admitted.increment();
+        } else {
+            shed.increment();
+        }
+        updateStatusMessage();
+        return result;
+    }
+
+    /**
+     * Gives back a slot, for an admitted order that was never placed or one that
+     * has left the kitchen.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (active > 0) {
+                active--;
+            }
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+        updateStatusMessage();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        applyTransitions(List.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        applyTransitions(batch.getEvents());
+    }
+
+    private void applyTransitions(List<OrderEvent> events) {
+        int delta = 0;
+        for (OrderEvent event : events) {
+            if (event.getType() != OrderEvent.Type.STATUS_CHANGED) {
+                continue; // new orders took their slot in admit()
+            }
+            boolean wasActive = ACTIVE.contains(event.getPreviousStatus());
+            boolean isActive = ACTIVE.contains(event.getStatus());
+            if (wasActive && !isActive) {
+                delta--;
+            } else if (!wasActive && isActive) {
+                delta++;
+            }
+        }
+        if (delta == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            active = Math.max(0, active + delta);
+            if (delta < 0) {
+                slotFreed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        updateStatusMessage();
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            metrics.put("active", active);
+            metrics.put("waiting", waiting);
+        } finally {
+            lock.unlock();
+        }
+        metrics.put("capacity", capacity);
+        metrics.put("admitted", admitted.sum());
+        metrics.put("queued", queued.sum());
+        metrics.put("shed", shed.sum());
+        metrics.put("busy", busy.get());
+        return metrics;
+    }
+
+    private void updateStatusMessage() {
+        int current;
+        lock.lock();
+        try {
+            current = active;
+        } finally {
+            lock.unlock();
+        }
+        if (current >= capacity && busy.compareAndSet(false, true)) {
+            restaurantStatusService.update(status -> {
+                // Kept in the row, so the message survives a restart while busy
+                status.setMessageBeforeBusy(status.getStatusMessage());
+                status.setStatusMessage(BUSY_MESSAGE);
+            });
+        } else if (current < capacity * RECOVERY_RATIO && busy.compareAndSet(true, false)) {
+            restaurantStatusService.update(status -> {
+                // Leave the message alone if an admin has changed it meanwhile
+                if (Objects.equals(status.getStatusMessage(), BUSY_MESSAGE)) {
+                    status.setStatusMessage(status.getMessageBeforeBusy());
+                }
+                status.setMessageBeforeBusy(null);
+            });
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.KitchenStationUpdate;
+import com.restaurant.dto.KitchenTicket;
+import com.restaurant.dto.OrderItemResponse;
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.MenuItem;
+import com.restaurant.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Kitchen display feed. Each line of an order in the kitchen becomes a ticket on
+ * the station for its menu category, and every station keeps its tickets in a
+ * sorted set ordered by promised time. Changes go out per station on
+ * /topic/kitchen/{station}.
+ *
+ * Bumping a ticket only touches memory; the bump times are written to the
+ * database in batches by {@link #flush()}.
+ */
+@Service
+public class KitchenDisplayService {
+
+    static final String DEFAULT_STATION = "general";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MenuCatalogService menuCatalogService;
+
+    @Autowired
+    private OrderNotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.kitchen.promise-minutes:30}")
+    private long promiseMinutes;
+
+    private final Map<String, ConcurrentSkipListSet<KitchenTicket>> queues = new ConcurrentHashMap<>();
+    private final Map<String, String> labels = new ConcurrentHashMap<>();
+    private final Map<Long, KitchenTicket> tickets = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> ticketsByOrder = new ConcurrentHashMap<>();
+
+    // Bump times waiting for the next flush
+    private final Map<Long, LocalDateTime> pendingBumps = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (OrderRepository.KitchenLineView line : orderRepository
+                .findOpenKitchenLines(KitchenAdmissionService.ACTIVE)) {
+            add(new KitchenTicket(line.getId(), line.getOrderId(), stationOf(line.getCategory()), line.getName(),
+                    line.getQuantity(), line.getCustomer(), line.getOrderDate(), promiseFor(line.getOrderDate())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        Map<String, KitchenStationUpdate> updates = new TreeMap<>();
+        apply(event, updates);
+        publish(updates);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        Map<String, KitchenStationUpdate> updates = new TreeMap<>();
+        batch.getEvents().forEach(event -> apply(event, updates));
+        publish(updates);
+    }
+
+    /**
+     * Marks a ticket done and takes it off its station. Returns false if there is
+     * no such open ticket.
+     */
+    public boolean bump(Long ticketId) {
+        KitchenTicket ticket = remove(ticketId);
+        if (ticket == null) {
+            return false;
+        }
+        pendingBumps.put(ticketId, LocalDateTime.now());
+        KitchenStationUpdate update = new KitchenStationUpdate(ticket.getStation());
+        update.getRemoved().add(ticketId);
+        publish(Map.of(ticket.getStation(), update));
+        return true;
+    }
+
+    /**
+     * Open tickets for a station, most urgent first.
+     */
+    public List<KitchenTicket> getTickets(String station) {
+        ConcurrentSkipListSet<KitchenTicket> queue = queues.get(station);
+        return queue != null ? new ArrayList<>(queue) : List.of();
+    }
+
+    public List<Map<String, Object>> getStations() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        new TreeMap<>(queues).forEach((station, queue) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("station", station);
+            entry.put("label", labels.getOrDefault(station, station));
+            entry.put("tickets", queue.size());
+            KitchenTicket next = queue.isEmpty() ? null : queue.first();
+            entry.put("nextPromisedAt", next != null ? next.getPromisedAt() : null);
+            result.add(entry);
+        });
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.kitchen.bump-flush-interval-ms:2000}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : pendingBumps.keySet()) {
+            LocalDateTime bumpedAt = pendingBumps.remove(id);
+            if (bumpedAt != null) {
+                rows.add(new Object[] { Timestamp.valueOf(bumpedAt), id });
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE order_items SET bumped_at = ? WHERE id = ?", rows);
+        }
+    }
+
+    private void apply(OrderEvent event, Map<String, KitchenStationUpdate> updates) {
+        OrderResponse order = event.getOrder();
+        boolean inKitchen = KitchenAdmissionService.ACTIVE.contains(event.getStatus());
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            if (!inKitchen || order.getOrderItems() == null) {
+                return;
+            }
+            String customer = order.getFullName() != null ? order.getFullName() : order.getUsername();
+            MenuSnapshot menu = menuCatalogService.getSnapshot();
+            for (OrderItemResponse line : order.getOrderItems()) {
+                MenuItem item = line.getMenuItemId() != null ? menu.getItem(line.getMenuItemId()) : null;
+                KitchenTicket ticket = new KitchenTicket(line.getId(), order.getId(),
+                        stationOf(item != null ? item.getCategory() : null), line.getName(), line.getQuantity(),
+                        customer, order.getOrderDate(), promiseFor(order.getOrderDate()));
+                add(ticket);
+                updateFor(updates, ticket.getStation()).getAdded().add(ticket);
+            }
+        } else if (!inKitchen) {
+            Set<Long> ids = ticketsByOrder.get(order.getId());
+            if (ids == null) {
+                return;
+            }
+            for (Long id : new ArrayList<>(ids)) {
+                KitchenTicket ticket = remove(id);
+                if (ticket != null) {
+                    updateFor(updates, ticket.getStation()).getRemoved().add(id);
+                }
+            }
+        }
+    }
+
+    private void add(KitchenTicket ticket) {
+        if (tickets.putIfAbsent(ticket.getId(), ticket) != null) {
+            return;
+        }
+        queues.computeIfAbsent(ticket.getStation(), key -> new ConcurrentSkipListSet<>(KitchenTicket.BY_PROMISE))
+                .add(ticket);
+        ticketsByOrder.computeIfAbsent(ticket.getOrderId(), key -> ConcurrentHashMap.newKeySet()).add(ticket.getId());
+    }
+
+    private KitchenTicket remove(Long ticketId) {
+        KitchenTicket ticket = tickets.remove(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        ConcurrentSkipListSet<KitchenTicket> queue = queues.get(ticket.getStation());
+        if (queue != null) {
+            queue.remove(ticket);
+        }
+        ticketsByOrder.computeIfPresent(ticket.getOrderId(), (key, ids) -> {
+            ids.remove(ticketId);
+            return ids.isEmpty() ? null : ids;
+        });
+        return ticket;
+    }
+
+    private void publish(Map<String, KitchenStationUpdate> updates) {
+        updates.forEach((station, update) -> notificationService.send("/topic/kitchen/" + station, update));
+    }
+
+    private static KitchenStationUpdate updateFor(Map<String, KitchenStationUpdate> updates, String station) {
+        return updates.computeIfAbsent(station, KitchenStationUpdate::new);
+    }
+
+    private LocalDateTime promiseFor(LocalDateTime orderedAt) {
+        return (orderedAt != null ? orderedAt : LocalDateTime.now()).plusMinutes(promiseMinutes);
+    }
+
+    /**
+     * Station key for a menu category, safe to use in a topic name.
+     */
+    String stationOf(String category) {
+        if (category == null || category.isBlank()) {
+            return DEFAULT_STATION;
+        }
+        String station = category.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("^-|-$", "");
+        if (station.isEmpty()) {
+            return DEFAULT_STATION;
+        }
+        labels.putIfAbsent(station, category.trim());
+        return station;
+    }
+}
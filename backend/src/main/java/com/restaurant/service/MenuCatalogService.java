@@ -0,0 +1,219 @@
+package com.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.dto.MenuChangeEvent;
+import com.restaurant.dto.MenuChangesResponse;
+import com.restaurant.model.MenuItem;
+import com.restaurant.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the current {@link MenuSnapshot}. Reads never touch the database; writes
+ * are applied to the snapshot once committed and announced on /topic/menu as a
+ * {@link MenuChangeEvent}, so clients can patch their copy instead of refetching.
+ */
+@Service
+public class MenuCatalogService {
+
+    private static final int CHANGE_LOG_SIZE = 256;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MenuSearchIndex searchIndex;
+
+    private volatile MenuSnapshot snapshot;
+
+    private final Deque<MenuChangeEvent> changeLog = new ArrayDeque<>();
+
+    public MenuSnapshot getSnapshot() {
+        MenuSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    public void itemSaved(MenuItem item, boolean created) {
+        MenuItem copy = copyOf(item);
+        afterCommit(() -> apply(created ? MenuChangeEvent.Type.ADDED : MenuChangeEvent.Type.UPDATED,
+                copy.getId(), copy));
+    }
+
+    /**
+     * Flips availability on the snapshot item only, for changes made outside the
+     * menu editor such as an item selling out.
+     */
+    public void availabilityChanged(Long id, boolean available) {
+        afterCommit(() -> {
+            MenuItem current = getSnapshot().getItem(id);
+            if (current != null && !Boolean.valueOf(available).equals(current.getAvailable())) {
+                MenuItem copy = copyOf(current);
+                copy.setAvailable(available);
+                apply(MenuChangeEvent.Type.UPDATED, id, copy);
+            }
+        });
+    }
+
+    public void itemRemoved(Long id) {
+        afterCommit(() -> apply(MenuChangeEvent.Type.REMOVED, id, null));
+    }
+
+    /**
+     * Reloads the whole menu from the database and tells clients to refetch. Meant
+     * for writes that touch many items at once.
+     */
+    public void refresh() {
+        afterCommit(() -> {
+            MenuChangeEvent event;
+            synchronized (this) {
+                long version = load().getVersion();
+                event = record(new MenuChangeEvent(MenuChangeEvent.Type.RELOAD, version, null, null));
+            }
+            messagingTemplate.convertAndSend("/topic/menu", event);
+        });
+    }
+
+    public synchronized MenuChangesResponse getChangesSince(long since) {
+        long version = getSnapshot().getVersion();
+        if (since == version) {
+            return new MenuChangesResponse(version, false, Collections.emptyList());
+        }
+        MenuChangeEvent oldest = changeLog.peekFirst();
+        if (since > version || oldest == null || oldest.getVersion() > since + 1) {
+            return new MenuChangesResponse(version, true, Collections.emptyList());
+        }
+        List<MenuChangeEvent> changes = changeLog.stream()
+                .filter(event -> event.getVersion() > since)
+                .collect(Collectors.toList());
+        return new MenuChangesResponse(version, false, changes);
+    }
+
+    /**
+     * The spelling already used for a category that differs only in case, so each
+     * category is stored one way and can be filtered on with a plain comparison.
+     */
+    public String canonicalCategory(String category) {
+        if (category == null) {
+            return null;
+        }
+        List<String> names = getSnapshot().getCategoryNames(category);
+        return names.isEmpty() ? category.trim() : names.get(0);
+    }
+
+    /**
+     * Full-text search with prefix and typo tolerance, answered from memory.
+     */
+    public List<MenuItem> search(String query, int limit) {
+        MenuSnapshot current = getSnapshot();
+        return searchIndex.search(query, limit).stream()
+                .map(current::getItem)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void apply(MenuChangeEvent.Type type, Long id, MenuItem item) {
+        MenuChangeEvent event;
+        synchronized (this) {
+            MenuSnapshot current = getSnapshot();
+            List<MenuItem> items = new ArrayList<>(current.getItems().size() + 1);
+            for (MenuItem existing : current.getItems()) {
+                if (!existing.getId().equals(id)) {
+                    items.add(existing);
+                }
+            }
+            if (item != null) {
+                items.add(item);
+                items.sort(Comparator.comparing(MenuItem::getId));
+                searchIndex.index(item);
+            } else {
+                searchIndex.remove(id);
+            }
+            long version = current.getVersion() + 1;
+            snapshot = new MenuSnapshot(version, items, render(items));
+            event = record(new MenuChangeEvent(type, version, id, item));
+        }
+        messagingTemplate.convertAndSend("/topic/menu", event);
+    }
+
+    private MenuChangeEvent record(MenuChangeEvent event) {
+        changeLog.addLast(event);
+        while (changeLog.size() > CHANGE_LOG_SIZE) {
+            changeLog.removeFirst();
+        }
+        return event;
+    }
+
+    private synchronized MenuSnapshot load() {
+        List<MenuItem> items = menuItemRepository.findAll().stream()
+                .map(MenuCatalogService::copyOf)
+                .sorted(Comparator.comparing(MenuItem::getId))
+                .collect(Collectors.toList());
+
+        // Seeded from the clock so versions keep increasing across restarts
+        long version = snapshot != null ? snapshot.getVersion() + 1 : System.currentTimeMillis();
+        MenuSnapshot built = new MenuSnapshot(version, items, render(items));
+        searchIndex.rebuild(items);
+        snapshot = built;
+        return built;
+    }
+
+    private byte[] render(List<MenuItem> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render menu snapshot", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Detached copies so nothing bound to a persistence context leaks into the snapshot
+    static MenuItem copyOf(MenuItem source) {
+        MenuItem copy = new MenuItem(source.getName(), source.getDescription(), source.getPrice(),
+                source.getCategory());
+        copy.setId(source.getId());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setAvailable(source.getAvailable());
+        copy.setIsVeg(source.getIsVeg());
+        copy.setStockQuantity(source.getStockQuantity());
+        return copy;
+    }
+}
@@ -0,0 +1,247 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.CursorPage;
+import com.restaurant.dto.MenuQuery;
+import com.restaurant.model.MenuItem;
+import com.restaurant.repository.MenuItemRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtered menu listing with keyset pagination. Every sort order ends with the id
+ * so cursors stay stable while items are added or repriced.
+ *
+ * The popular order lists the week's best sellers first, fetched by id and
+ * ranked in memory, then every other item by id. Within the best sellers the
+ * cursor is a rank position, so new sales between pages may shift it slightly.
+ */
+@Service
+public class MenuQueryService {
+
+    public static final int DEFAULT_LIMIT = 24;
+    public static final int MAX_LIMIT = 100;
+
+    // Cursor key once the popular order has moved past the ranked items
+    private static final String UNRANKED = "u";
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private PopularItemsService popularItemsService;
+
+    @Autowired
+    private MenuCatalogService menuCatalogService;
+
+    public CursorPage<MenuItem> query(MenuQuery query) {
+        MenuQuery.SortOrder order = query.getSortOrder();
+        int limit = query.getLimit() != null ? Math.max(1, Math.min(query.getLimit(), MAX_LIMIT)) : DEFAULT_LIMIT;
+        String[] cursor = query.getCursor() != null ? decodeCursor(query.getCursor()) : null;
+        if (order == MenuQuery.SortOrder.POPULAR) {
+            return queryPopular(query, limit, cursor);
+        }
+
+        List<MenuItem> rows = menuItemRepository.findBy(matching(query, order, cursor),
+                q -> q.sortBy(sortFor(order)).limit(limit + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = encodeCursor(order, rows.get(limit - 1));
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    private CursorPage<MenuItem> queryPopular(MenuQuery query, int limit, String[] cursor) {
+        Map<Long, Double> sales = popularItemsService.getSales(PopularItemsService.Window.WEEK);
+        List<Long> ranked = new ArrayList<>(sales.keySet());
+        ranked.sort(Comparator.comparingDouble((Long id) -> sales.get(id)).reversed().thenComparing(id -> id));
+
+        boolean unranked = cursor != null && UNRANKED.equals(cursor[0]);
+        int position = cursor != null && !unranked ? Math.min(parseOffset(cursor[0]), ranked.size()) : 0;
+        List<MenuItem> page = new ArrayList<>();
+        if (!unranked && position < ranked.size()) {
+            List<Long> candidates = ranked.subList(position, ranked.size());
+            Map<Long, MenuItem> found = new HashMap<>();
+            for (MenuItem item : menuItemRepository.findAll(matching(query, MenuQuery.SortOrder.ID, null)
+                    .and((root, criteriaQuery, cb) -> root.get("id").in(candidates)))) {
+                found.put(item.getId(), item);
+            }
+            for (int i = position; i < ranked.size(); i++) {
+                MenuItem item = found.get(ranked.get(i));
+                if (item == null) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    return new CursorPage<>(page, popularCursor(String.valueOf(i), item.getId()));
+                }
+                page.add(item);
+            }
+        }
+
+        // Items that have not sold enough to be ranked follow in id order
+        long afterId = unranked ? parseId(cursor[1]) : 0;
+        int remaining = limit - page.size();
+        Specification<MenuItem> rest = matching(query, MenuQuery.SortOrder.ID,
+                new String[] { "", String.valueOf(afterId) });
+        if (!ranked.isEmpty()) {
+            rest = rest.and((root, criteriaQuery, cb) -> cb.not(root.get("id").in(ranked)));
+        }
+        List<MenuItem> rows = menuItemRepository.findBy(rest,
+                q -> q.sortBy(sortFor(MenuQuery.SortOrder.ID)).limit(remaining + 1).all());
+        String nextCursor = null;
+        if (rows.size() > remaining) {
+            rows = rows.subList(0, remaining);
+            nextCursor = popularCursor(UNRANKED, rows.isEmpty() ? afterId : rows.get(remaining - 1).getId());
+        }
+        page.addAll(rows);
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    private static String popularCursor(String key, long id) {
+        String raw = key + "\n" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<MenuItem> matching(MenuQuery query, MenuQuery.SortOrder order, String[] cursor) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.getCategory() != null) {
+                // Matched case-insensitively against the stored spellings rather than with
+                // lower(category), which would keep the (category, price, id) index out
+                List<String> names = menuCatalogService.getSnapshot().getCategoryNames(query.getCategory());
+                if (names.isEmpty()) {
+                    predicates.add(cb.disjunction());
+                } else if (names.size() == 1) {
+                    predicates.add(cb.equal(root.get("category"), names.get(0)));
+                } else {
+                    predicates.add(root.get("category").in(names));
+                }
+            }
+            if (query.getVeg() != null) {
+                predicates.add(cb.equal(root.get("isVeg"), query.getVeg()));
+            }
+            if (query.getAvailable() != null) {
+                predicates.add(cb.equal(root.get("available"), query.getAvailable()));
+            }
+            if (query.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.getMinPrice()));
+            }
+            if (query.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.getMaxPrice()));
+            }
+            if (cursor != null) {
+                predicates.add(after(root, cb, order, cursor));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Rows strictly after the cursor position in the given sort order
+    private Predicate after(Root<MenuItem> root, CriteriaBuilder cb, MenuQuery.SortOrder order, String[] cursor) {
+        Long id = parseId(cursor[1]);
+        switch (order) {
+            case PRICE_ASC: {
+                BigDecimal price = parsePrice(cursor[0]);
+                return cb.or(cb.greaterThan(root.get("price"), price),
+                        cb.and(cb.equal(root.get("price"), price), cb.greaterThan(root.get("id"), id)));
+            }
+            case PRICE_DESC: {
+                BigDecimal price = parsePrice(cursor[0]);
+                return cb.or(cb.lessThan(root.get("price"), price),
+                        cb.and(cb.equal(root.get("price"), price), cb.lessThan(root.get("id"), id)));
+            }
+            case NAME:
+                return cb.or(cb.greaterThan(root.get("name"), cursor[0]),
+                        cb.and(cb.equal(root.get("name"), cursor[0]), cb.greaterThan(root.get("id"), id)));
+            default:
+                return cb.greaterThan(root.get("id"), id);
+        }
+    }
+
+    private static Sort sortFor(MenuQuery.SortOrder order) {
+        switch (order) {
+            case PRICE_ASC:
+                return Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"));
+            case PRICE_DESC:
+                return Sort.by(Sort.Order.desc("price"), Sort.Order.desc("id"));
+            case NAME:
+                return Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id"));
+            default:
+                return Sort.by(Sort.Order.asc("id"));
+        }
+    }
+
+    private static String encodeCursor(MenuQuery.SortOrder order, MenuItem last) {
+        String key;
+        switch (order) {
+            case PRICE_ASC:
+            case PRICE_DESC:
+                key = last.getPrice().toPlainString();
+                break;
+            case NAME:
+                key = last.getName();
+                break;
+            default:
+                key = "";
+        }
+        String raw = key + "\n" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int split = raw.lastIndexOf('\n');
+        if (split < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new String[] { raw.substring(0, split), raw.substring(split + 1) };
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static int parseOffset(String value) {
+        try {
+            int offset = Integer.parseInt(value);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
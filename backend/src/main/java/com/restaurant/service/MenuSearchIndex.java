@@ -0,0 +1,186 @@
+package com.restaurant.service;
+
+import com.restaurant.model.MenuItem;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index over menu item name, category and description. Terms live in a
+ * sorted map so prefix lookups are a range scan; when a query term has no exact
+ * or prefix hit it falls back to terms within a small edit distance.
+ */
+@Component
+public class MenuSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // term -> (item id -> best field weight)
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> termsByItem = new ConcurrentHashMap<>();
+
+    public synchronized void rebuild(Collection<MenuItem> items) {
+        postings.clear();
+        termsByItem.clear();
+        items.forEach(this::index);
+    }
+
+    public synchronized void index(MenuItem item) {
+        remove(item.getId());
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, item.getName(), NAME_WEIGHT);
+        addTerms(weights, item.getCategory(), CATEGORY_WEIGHT);
+        addTerms(weights, item.getDescription(), DESCRIPTION_WEIGHT);
+
+        weights.forEach((term, weight) -> postings
+                .computeIfAbsent(term, key -> new ConcurrentHashMap<>())
+                .put(item.getId(), weight));
+        termsByItem.put(item.getId(), weights.keySet());
+    }
+
+    public synchronized void remove(Long id) {
+        Set<String> terms = termsByItem.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Returns matching item ids, best first. Every query term has to match, either
+     * exactly or as a prefix, so results follow the keystrokes.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Double> scores = null;
+        for (String term : terms) {
+            Map<Long, Double> matches = match(term);
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    entry.setValue(entry.getValue() + matches.get(entry.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Double> match(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, weight) -> scores.merge(id, weight * 1.0, Math::max));
+        }
+        for (Map<Long, Integer> ids : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            ids.forEach((id, weight) -> scores.merge(id, weight * 0.8, Math::max));
+        }
+        if (!scores.isEmpty()) {
+            return scores;
+        }
+
+        int maxDistance = term.length() <= 3 ? 0 : term.length() <= 6 ? 1 : 2;
+        if (maxDistance == 0) {
+            return scores;
+        }
+        for (Map.Entry<String, Map<Long, Integer>> entry : postings.entrySet()) {
+            String candidate = entry.getKey();
+            // Allow the typo anywhere in a prefix too, so "chiken" still finds "chicken"
+            String compared = candidate.length() > term.length() + maxDistance
+                    ? candidate.substring(0, term.length())
+                    : candidate;
+            if (Math.abs(compared.length() - term.length()) > maxDistance) {
+                continue;
+            }
+            int distance = editDistance(term, compared, maxDistance);
+            if (distance <= maxDistance) {
+                double factor = 0.5 / distance;
+                entry.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+            }
+        }
+        return scores;
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && seen.add(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // Optimal string alignment distance, giving up early once past the bound
+    static int editDistance(String a, String b, int bound) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, d[i - 2][j - 2] + 1);
+                }
+                d[i][j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,76 @@
+package com.restaurant.service;
+
+import com.restaurant.model.MenuItem;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of the whole menu at a given version. The JSON body for
+ * {@code GET /api/menu} is rendered once when the snapshot is built.
+ */
+public final class MenuSnapshot {
+
+    private final long version;
+    private final List<MenuItem> items;
+    private final Map<Long, MenuItem> byId;
+    private final Map<String, List<MenuItem>> byCategory;
+    private final byte[] json;
+
+    MenuSnapshot(long version, List<MenuItem> items, byte[] json) {
+        this.version = version;
+        this.items = Collections.unmodifiableList(items);
+        this.json = json;
+
+        Map<Long, MenuItem> ids = new LinkedHashMap<>();
+        for (MenuItem item : items) {
+            ids.put(item.getId(), item);
+        }
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byCategory = Collections.unmodifiableMap(items.stream()
+                .filter(item -> item.getCategory() != null)
+                .collect(Collectors.groupingBy(item -> categoryKey(item.getCategory()),
+                        LinkedHashMap::new,
+                        Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList))));
+    }
+
+    // Category lookups were case-insensitive under the MySQL collation, keep it that way
+    static String categoryKey(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<MenuItem> getItems() {
+        return items;
+    }
+
+    public MenuItem getItem(Long id) {
+        return byId.get(id);
+    }
+
+    public List<MenuItem> getItemsByCategory(String category) {
+        return byCategory.getOrDefault(categoryKey(category), Collections.emptyList());
+    }
+
+    /**
+     * The spellings stored for a category, matched case-insensitively. Lets
+     * queries compare the raw column, so its index stays usable.
+     */
+    public List<String> getCategoryNames(String category) {
+        return getItemsByCategory(category).stream()
+                .map(MenuItem::getCategory)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+}
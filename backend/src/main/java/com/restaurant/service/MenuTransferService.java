@@ -0,0 +1,229 @@
+package com.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.dto.MenuImportResult;
+import com.restaurant.model.MenuItem;
+import com.restaurant.util.Csv;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk menu import and export. Imports stream CSV or a JSON array into menu_items
+ * using JDBC batch inserts; rows that fail validation are skipped and reported,
+ * everything else goes in as one transaction followed by a single menu reload
+ * event. Exports stream the current snapshot without touching the database.
+ */
+@Service
+public class MenuTransferService {
+
+    public static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // Ids stay IDENTITY-generated, so plain JDBC batches are used rather than Hibernate batching
+    private static final String INSERT_SQL = "INSERT INTO menu_items "
+            + "(name, description, price, category, image_url, available, is_veg) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private MenuCatalogService menuCatalogService;
+
+    @Transactional
+    public MenuImportResult importCsv(Reader input) throws IOException {
+        Csv.RecordReader reader = new Csv.RecordReader(input);
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[] { "name", "price", "category" }) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+
+        Batch batch = new Batch();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            int line = reader.getLine();
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            String price = column(record, columns, "price");
+            BigDecimal parsedPrice;
+            try {
+                parsedPrice = price != null ? new BigDecimal(price.trim()) : null;
+            } catch (NumberFormatException e) {
+                batch.reject(line, "price is not a number");
+                continue;
+            }
+            MenuItem item = new MenuItem(
+                    column(record, columns, "name"),
+                    column(record, columns, "description"),
+                    parsedPrice,
+                    column(record, columns, "category"));
+            item.setImageUrl(column(record, columns, "imageurl"));
+            item.setAvailable(flag(column(record, columns, "available")));
+            item.setIsVeg(flag(column(record, columns, "isveg")));
+            batch.add(line, item);
+        }
+        return batch.finish();
+    }
+
+    @Transactional
+    public MenuImportResult importJson(InputStream input) throws IOException {
+        Batch batch = new Batch();
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of menu items");
+            }
+            int index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                index++;
+                MenuItem item = objectMapper.readValue(parser, MenuItem.class);
+                item.setId(null);
+                batch.add(index, item);
+            }
+        }
+        return batch.finish();
+    }
+
+    public void exportCsv(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Csv.writeRow(writer, "id", "name", "description", "price", "category", "imageUrl", "available", "isVeg");
+        for (MenuItem item : menuCatalogService.getSnapshot().getItems()) {
+            Csv.writeRow(writer, item.getId(), item.getName(), item.getDescription(), item.getPrice(),
+                    item.getCategory(), item.getImageUrl(), item.getAvailable(), item.getIsVeg());
+        }
+        writer.flush();
+    }
+
+    public void exportJson(OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.writeStartArray();
+        for (MenuItem item : menuCatalogService.getSnapshot().getItems()) {
+            objectMapper.writeValue(generator, item);
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : Csv.unguard(value);
+    }
+
+    // Blank means the entity default (true)
+    private static Boolean flag(String value) {
+        if (value == null || value.isBlank()) {
+            return Boolean.TRUE;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.equals("true") || normalized.equals("yes") || normalized.equals("1")
+                || normalized.equals("veg");
+    }
+
+    private class Batch {
+        private final List<MenuItem> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<String> errors = new ArrayList<>();
+        // Categories first seen in this import, keyed case-insensitively
+        private final Map<String, String> categories = new HashMap<>();
+        private int imported;
+        private int rejected;
+
+        void add(int line, MenuItem item) {
+            if (item.getAvailable() == null) {
+                item.setAvailable(Boolean.TRUE);
+            }
+            if (item.getIsVeg() == null) {
+                item.setIsVeg(Boolean.TRUE);
+            }
+            Set<ConstraintViolation<MenuItem>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            if (item.getCategory() != null) {
+                item.setCategory(categories.computeIfAbsent(MenuSnapshot.categoryKey(item.getCategory()),
+                        key -> menuCatalogService.canonicalCategory(item.getCategory())));
+            }
+            pending.add(item);
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(int line, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("row " + line + ": " + reason);
+            }
+        }
+
+        MenuImportResult finish() {
+            flush();
+            if (imported > 0) {
+                menuCatalogService.refresh();
+            }
+            return new MenuImportResult(imported, rejected, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, pending, pending.size(), (ps, item) -> {
+                ps.setString(1, item.getName());
+                ps.setString(2, item.getDescription());
+                ps.setBigDecimal(3, item.getPrice());
+                ps.setString(4, item.getCategory());
+                ps.setString(5, item.getImageUrl());
+                ps.setBoolean(6, item.getAvailable());
+                ps.setBoolean(7, item.getIsVeg());
+            });
+            imported += pending.size();
+            pending.clear();
+        }
+    }
+}
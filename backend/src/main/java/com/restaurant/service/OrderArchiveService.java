@@ -0,0 +1,184 @@
+package com.restaurant.service;
+
+import com.restaurant.model.Order;
+import com.restaurant.repository.OrderArchiveRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves finished orders out of the live tables. DELIVERED and CANCELLED orders
+ * older than the configured age are copied, with their lines and payment, to
+ * orders_archive, order_items_archive and payments_archive and deleted from the
+ * live tables, one chunk per transaction, so the live tables and their indexes
+ * only hold recent orders.
+ *
+ * Also keeps the archive's totals in memory, so aggregates over all orders can
+ * add them without scanning the archive.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final String CANDIDATES = "SELECT o.id FROM orders o "
+            + "WHERE o.status IN ('DELIVERED', 'CANCELLED') AND o.order_date < :cutoff "
+            + "ORDER BY o.id LIMIT :limit";
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.archive.age-days:90}")
+    private int ageDays;
+
+    @Value("${app.archive.chunk-size:500}")
+    private int chunkSize;
+
+    private final LongAdder archivedOrders = new LongAdder();
+    private final LongAdder archivedRevenueCents = new LongAdder();
+    private final AtomicReference<LocalDateTime> newest = new AtomicReference<>();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadTotals() {
+        if (loaded) {
+            return;
+        }
+        archivedOrders.add(orderArchiveRepository.count());
+        BigDecimal revenue = orderArchiveRepository.sumTotalAmount(Order.OrderStatus.BILLABLE);
+        archivedRevenueCents.add(toCents(revenue));
+        newest.set(orderArchiveRepository.findNewestOrderDate());
+        loaded = true;
+    }
+
+    /**
+     * Archives every eligible order, a chunk at a time. Returns how many were moved.
+     */
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}",
+            initialDelayString = "${app.archive.interval-ms:3600000}")
+    public synchronized int archive() {
+        loadTotals();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ageDays);
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveChunk(cutoff);
+            total += moved;
+        } while (moved == chunkSize);
+        return total;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(tx -> {
+            List<Long> ids = namedJdbcTemplate.queryForList(CANDIDATES, new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("limit", chunkSize), Long.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+
+            Map<String, Object> totals = namedJdbcTemplate.queryForMap(
+                    "SELECT SUM(CASE WHEN status <> 'CANCELLED' THEN total_amount ELSE 0 END) AS revenue, "
+                            + "MAX(order_date) AS newest FROM orders WHERE id IN (:ids)", params);
+
+            namedJdbcTemplate.update("INSERT INTO orders_archive (id, user_id, order_date, status, total_amount, "
+                    + "delivery_address, phone_number, latitude, longitude, version, archived_at) "
+                    + "SELECT id, user_id, order_date, status, total_amount, delivery_address, phone_number, "
+                    + "latitude, longitude, version, :now FROM orders WHERE id IN (:ids)", params);
+            namedJdbcTemplate.update("INSERT INTO order_items_archive (id, order_id, menu_item_id, quantity, price, "
+                    + "bumped_at) SELECT id, order_id, menu_item_id, quantity, price, bumped_at "
+                    + "FROM order_items WHERE order_id IN (:ids)", params);
+            namedJdbcTemplate.update("INSERT INTO payments_archive (id, order_id, amount, status, payment_method, "
+                    + "transaction_id, payment_date, stripe_payment_intent_id, razorpay_order_id, archived_at) "
+                    + "SELECT id, order_id, amount, status, payment_method, transaction_id, payment_date, "
+                    + "stripe_payment_intent_id, razorpay_order_id, :now FROM payments WHERE order_id IN (:ids)", params);
+            // Payments reference their order, so they go first
+            namedJdbcTemplate.update("DELETE FROM payments WHERE order_id IN (:ids)", params);
+            namedJdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", params);
+            namedJdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+
+            BigDecimal revenue = (BigDecimal) totals.get("revenue");
+            Timestamp chunkNewest = (Timestamp) totals.get("newest");
+            // Totals are only published once the chunk has committed
+            afterCommit(ids.size(), revenue, chunkNewest != null ? chunkNewest.toLocalDateTime() : null);
+            return ids.size();
+        });
+        return moved != null ? moved : 0;
+    }
+
+    private void afterCommit(int count, BigDecimal revenue, LocalDateTime chunkNewest) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                archivedOrders.add(count);
+                archivedRevenueCents.add(toCents(revenue));
+                if (chunkNewest != null) {
+                    newest.accumulateAndGet(chunkNewest,
+                            (current, next) -> current == null || next.isAfter(current) ? next : current);
+                }
+            }
+        });
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+
+    public long getArchivedOrders() {
+        loadTotals();
+        return archivedOrders.sum();
+    }
+
+    public BigDecimal getArchivedRevenue() {
+        loadTotals();
+        return BigDecimal.valueOf(archivedRevenueCents.sum(), 2);
+    }
+
+    /**
+     * Whether the archive could hold orders matching a listing with this status
+     * filter and start date. Lets listings skip the archive without a query.
+     */
+    public boolean mayContain(Order.OrderStatus status, LocalDateTime from) {
+        if (status != null && status != Order.OrderStatus.DELIVERED && status != Order.OrderStatus.CANCELLED) {
+            return false;
+        }
+        loadTotals();
+        LocalDateTime latest = newest.get();
+        return latest != null && (from == null || !from.isAfter(latest));
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("archivedOrders", getArchivedOrders());
+        metrics.put("archivedRevenue", getArchivedRevenue());
+        metrics.put("newestArchivedOrder", newest.get());
+        metrics.put("ageDays", ageDays);
+        metrics.put("chunkSize", chunkSize);
+        return metrics;
+    }
+}
@@ -0,0 +1,20 @@
+package com.restaurant.service;
+
+import java.util.List;
+
+/**
+ * Several {@link OrderEvent}s committed together, delivered to listeners as one
+ * event so notifications can go out as a single batch.
+ */
+public class OrderBatchEvent {
+
+    private final List<OrderEvent> events;
+
+    public OrderBatchEvent(List<OrderEvent> events) {
+        this.events = events;
+    }
+
+    public List<OrderEvent> getEvents() {
+        return events;
+    }
+}
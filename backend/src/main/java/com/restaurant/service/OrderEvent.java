@@ -0,0 +1,47 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.Order;
+
+/**
+ * Published when an order is placed or changes status. Listeners see it only
+ * after the transaction that produced it has committed.
+ */
+public class OrderEvent {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final OrderResponse order;
+    private final Long userId;
+    private final Order.OrderStatus previousStatus; // null for CREATED
+
+    public OrderEvent(Type type, OrderResponse order, Long userId, Order.OrderStatus previousStatus) {
+        this.type = type;
+        this.order = order;
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public OrderResponse getOrder() {
+        return order;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Order.OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return Order.OrderStatus.valueOf(order.getStatus());
+    }
+}
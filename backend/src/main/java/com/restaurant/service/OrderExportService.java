@@ -0,0 +1,135 @@
+package com.restaurant.service;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderItem;
+import com.restaurant.util.Csv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * CSV export of order lines for accounting, one row per line. Rows are read
+ * through forward-only result streams with a fixed fetch size and written out
+ * as they arrive, so memory use does not depend on the size of the export.
+ *
+ * Archived orders come first, then live ones, each oldest first.
+ */
+@Service
+public class OrderExportService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Transactional(readOnly = true)
+    public void exportCsv(LocalDate from, LocalDate to, Order.OrderStatus status, OutputStream output)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Csv.writeRow(writer, "orderId", "orderDate", "status", "username", "customerName", "lineId", "item",
+                "quantity", "unitPrice", "lineTotal", "orderTotal", "archived");
+        exportArchived(from, to, status, writer);
+        exportLive(from, to, status, writer);
+        writer.flush();
+    }
+
+    private void exportArchived(LocalDate from, LocalDate to, Order.OrderStatus status, Writer writer) {
+        TypedQuery<Object[]> query = entityManager.createQuery("SELECT o.id, o.orderDate, o.status, u.username, "
+                + "u.fullName, i.id, m.name, i.quantity, i.price, o.totalAmount "
+                + "FROM ArchivedOrderItem i JOIN ArchivedOrder o ON o.id = i.orderId LEFT JOIN o.user u "
+                + "LEFT JOIN MenuItem m ON m.id = i.menuItemId"
+                + where(from, to, status) + " ORDER BY o.orderDate, o.id, i.id", Object[].class);
+        try (Stream<Object[]> rows = stream(bind(query, from, to, status))) {
+            rows.forEach(row -> write(writer, row[0], row[1], row[2], row[3], row[4], row[5], row[6],
+                    (Integer) row[7], (BigDecimal) row[8], row[9], true));
+        }
+    }
+
+    private void exportLive(LocalDate from, LocalDate to, Order.OrderStatus status, Writer writer) {
+        TypedQuery<OrderItem> query = entityManager.createQuery("SELECT i FROM OrderItem i JOIN FETCH i.order o "
+                + "LEFT JOIN FETCH o.user u LEFT JOIN FETCH i.menuItem m"
+                + where(from, to, status) + " ORDER BY o.orderDate, o.id, i.id", OrderItem.class);
+        try (Stream<OrderItem> items = stream(bind(query, from, to, status))) {
+            Iterator<OrderItem> iterator = items.iterator();
+            Order previous = null;
+            while (iterator.hasNext()) {
+                OrderItem item = iterator.next();
+                Order order = item.getOrder();
+                write(writer, order.getId(), order.getOrderDate(), order.getStatus(),
+                        order.getUser() != null ? order.getUser().getUsername() : null,
+                        order.getUser() != null ? order.getUser().getFullName() : null,
+                        item.getId(), item.getMenuItem() != null ? item.getMenuItem().getName() : null,
+                        item.getQuantity(), item.getPrice(), order.getTotalAmount(), false);
+                // Users and menu items repeat across rows and stay bounded; lines and orders do not
+                entityManager.detach(item);
+                if (previous != null && previous != order) {
+                    entityManager.detach(previous);
+                }
+                previous = order;
+            }
+        }
+    }
+
+    private static String where(LocalDate from, LocalDate to, Order.OrderStatus status) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (from != null) {
+            where.append(" AND o.orderDate >= :from");
+        }
+        if (to != null) {
+            where.append(" AND o.orderDate < :to");
+        }
+        if (status != null) {
+            where.append(" AND o.status = :status");
+        }
+        return where.toString();
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, LocalDate from, LocalDate to,
+            Order.OrderStatus status) {
+        if (from != null) {
+            query.setParameter("from", from.atStartOfDay());
+        }
+        if (to != null) {
+            query.setParameter("to", to.plusDays(1).atStartOfDay());
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query;
+    }
+
+    private <T> Stream<T> stream(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static void write(Writer writer, Object orderId, Object orderDate, Object status, Object username,
+            Object customerName, Object lineId, Object item, Integer quantity, BigDecimal price, Object orderTotal,
+            boolean archived) {
+        BigDecimal lineTotal = quantity != null && price != null ? price.multiply(BigDecimal.valueOf(quantity)) : null;
+        try {
+            Csv.writeRow(writer, orderId, orderDate, status, username, customerName, lineId,
+                    item != null ? item : "Unknown", quantity, price, lineTotal, orderTotal, archived);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.OrderResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans committed {@link OrderEvent}s out over WebSocket on a background worker,
+ * so request threads never wait on STOMP delivery. Dashboard stats are pushed
+ * separately by {@link AdminStatsPublisher}.
+ *
+ * The queue is bounded. When it is full the publishing thread waits briefly for
+ * room and then drops the notification, since it runs after commit and may still
+ * hold its database connection. Clients recover a missed frame on their next
+ * refetch. Nothing ever overtakes a queued event, so the single worker keeps
+ * events for the same order in commit order.
+ */
+@Service
+public class OrderNotificationService {
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder blockedPublishes = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    public OrderNotificationService(@Value("${app.events.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.events.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-events");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        return;
+                    }
+                    blockedPublishes.increment();
+                    try {
+                        if (!pool.getQueue().offer(runnable, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                            dropped.increment();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped.increment();
+                    }
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        published.increment();
+        executor.execute(() -> deliver(event));
+        maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+    }
+
+    /**
+     * Sends a batch as one array frame on /topic/orders; customers still get one
+     * frame per order on their own topic.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        published.add(batch.getEvents().size());
+        executor.execute(() -> deliver(batch));
+        maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+    }
+
+    /**
+     * Sends any other order-related frame on the same worker, so it is ordered
+     * with the order events and kept off the calling thread.
+     */
+    public void send(String destination, Object payload) {
+        executor.execute(() -> {
+            try {
+                messagingTemplate.convertAndSend(destination, payload);
+            } catch (Exception e) {
+                failed.increment();
+                System.err.println("Notification to " + destination + " failed: " + e.getMessage());
+            }
+        });
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("published", published.sum());
+        metrics.put("delivered", delivered.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("blockedPublishes", blockedPublishes.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("maxQueueDepth", maxQueueDepth.get());
+        metrics.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        return metrics;
+    }
+
+    private void deliver(OrderEvent event) {
+        try {
+            messagingTemplate.convertAndSend("/topic/orders", event.getOrder());
+            if (event.getType() == OrderEvent.Type.STATUS_CHANGED && event.getUserId() != null) {
+                messagingTemplate.convertAndSend("/topic/order-status/" + event.getUserId(), event.getOrder());
+            }
+            delivered.increment();
+        } catch (Exception e) {
+            failed.increment();
+            System.err.println("Order notification failed for order " + event.getOrder().getId() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    private void deliver(OrderBatchEvent batch) {
+        List<OrderResponse> orders = new ArrayList<>(batch.getEvents().size());
+        batch.getEvents().forEach(event -> orders.add(event.getOrder()));
+        try {
+            messagingTemplate.convertAndSend("/topic/orders", orders);
+        } catch (Exception e) {
+            failed.add(orders.size());
+            System.err.println("Order notification failed for batch of " + orders.size() + ": " + e.getMessage());
+            return;
+        }
+        for (OrderEvent event : batch.getEvents()) {
+            try {
+                if (event.getType() == OrderEvent.Type.STATUS_CHANGED && event.getUserId() != null) {
+                    messagingTemplate.convertAndSend("/topic/order-status/" + event.getUserId(), event.getOrder());
+                }
+                delivered.increment();
+            } catch (Exception e) {
+                failed.increment();
+                System.err.println("Order notification failed for order " + event.getOrder().getId() + ": "
+                        + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,248 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.CursorPage;
+import com.restaurant.dto.OrderItemResponse;
+import com.restaurant.dto.OrderQuery;
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.ArchivedOrder;
+import com.restaurant.model.Order;
+import com.restaurant.repository.OrderArchiveRepository;
+import com.restaurant.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Order listings with keyset pagination on (orderDate, id), newest first. Rows
+ * are read straight into {@link OrderResponse} through a constructor projection
+ * and their lines fetched with one IN query, so no entities are loaded.
+ *
+ * Live orders come first. Only once a listing has run past them does it carry
+ * on into the archive, and not at all when the filters rule archived orders out.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderQueryService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String ARCHIVE_MARKER = "archive";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    public CursorPage<OrderResponse> query(OrderQuery query) {
+        return query(query, null);
+    }
+
+    /**
+     * Same as {@link #query(OrderQuery)}, restricted to one customer's orders when
+     * userId is not null.
+     */
+    public CursorPage<OrderResponse> query(OrderQuery query, Long userId) {
+        int limit = query.getLimit() != null ? Math.max(1, Math.min(query.getLimit(), MAX_LIMIT)) : DEFAULT_LIMIT;
+        Order.OrderStatus status = query.getStatusFilter();
+        Cursor cursor = query.getCursor() != null ? decodeCursor(query.getCursor()) : null;
+
+        List<OrderResponse> rows = new ArrayList<>();
+        if (cursor == null || !cursor.archive) {
+            rows = fetch(Order.class, query, status, userId, cursor, limit + 1);
+            if (rows.size() > limit) {
+                rows = new ArrayList<>(rows.subList(0, limit));
+                attachLines(rows, false);
+                return new CursorPage<>(rows, encodeCursor(false, rows.get(limit - 1)));
+            }
+            attachLines(rows, false);
+            // Live orders are exhausted; older ones may have been archived
+            LocalDateTime from = query.getFrom() != null ? LocalDateTime.of(query.getFrom(), LocalTime.MIDNIGHT) : null;
+            if (!orderArchiveService.mayContain(status, from)) {
+                return new CursorPage<>(rows, null);
+            }
+            cursor = null;
+        }
+
+        int remaining = limit - rows.size();
+        List<OrderResponse> archived = fetch(ArchivedOrder.class, query, status, userId, cursor, remaining + 1);
+        String nextCursor = null;
+        if (archived.size() > remaining) {
+            archived = new ArrayList<>(archived.subList(0, remaining));
+            nextCursor = remaining > 0 ? encodeCursor(true, archived.get(remaining - 1)) : encodeArchiveStart();
+        }
+        attachLines(archived, true);
+        rows.addAll(archived);
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Looks up a single archived order with its lines.
+     */
+    public Optional<OrderResponse> findArchived(Long id) {
+        List<OrderResponse> rows = entityManager.createQuery("SELECT new com.restaurant.dto.OrderResponse("
+                + "o.id, u.username, u.fullName, o.status, o.totalAmount, o.orderDate, o.deliveryAddress, "
+                + "o.phoneNumber, o.version) FROM ArchivedOrder o LEFT JOIN o.user u WHERE o.id = :id",
+                OrderResponse.class).setParameter("id", id).getResultList();
+        attachLines(rows, true);
+        return rows.stream().findFirst();
+    }
+
+    private List<OrderResponse> fetch(Class<?> entity, OrderQuery query, Order.OrderStatus status, Long userId,
+            Cursor cursor, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderResponse> cq = cb.createQuery(OrderResponse.class);
+        Root<?> order = cq.from(entity);
+        Join<?, ?> user = order.join("user", JoinType.LEFT);
+        cq.select(cb.construct(OrderResponse.class,
+                order.get("id"), user.get("username"), user.get("fullName"), order.get("status"),
+                order.get("totalAmount"), order.get("orderDate"), order.get("deliveryAddress"),
+                order.get("phoneNumber"), order.get("version")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (userId != null) {
+            predicates.add(cb.equal(order.get("user").get("id"), userId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(order.get("status"), status));
+        }
+        if (query.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("orderDate"),
+                    LocalDateTime.of(query.getFrom(), LocalTime.MIDNIGHT)));
+        }
+        if (query.getTo() != null) {
+            predicates.add(cb.lessThan(order.get("orderDate"),
+                    LocalDateTime.of(query.getTo().plusDays(1), LocalTime.MIDNIGHT)));
+        }
+        if (query.getCustomer() != null && !query.getCustomer().isBlank()) {
+            String prefix = escapeLike(query.getCustomer().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(user.get("username")), prefix, '\\'),
+                    cb.like(cb.lower(user.get("fullName")), prefix, '\\')));
+        }
+        if (cursor != null && cursor.date != null) {
+            predicates.add(cb.or(cb.lessThan(order.get("orderDate"), cursor.date),
+                    cb.and(cb.equal(order.get("orderDate"), cursor.date), cb.lessThan(order.get("id"), cursor.id))));
+        }
+        cq.where(predicates.toArray(new Predicate[0]));
+        cq.orderBy(cb.desc(order.get("orderDate")), cb.desc(order.get("id")));
+
+        return entityManager.createQuery(cq).setMaxResults(maxResults).getResultList();
+    }
+
+    private void attachLines(List<OrderResponse> orders, boolean archived) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<Long, OrderResponse> byId = orders.stream()
+                .collect(Collectors.toMap(OrderResponse::getId, Function.identity()));
+        List<OrderRepository.OrderLineView> lines = archived
+                ? orderArchiveRepository.findLinesByOrderIds(byId.keySet())
+                : orderRepository.findLinesByOrderIds(byId.keySet());
+        for (OrderRepository.OrderLineView line : lines) {
+            OrderItemResponse item = new OrderItemResponse(
+                    line.getId(),
+                    line.getName() != null ? line.getName() : "Unknown",
+                    line.getQuantity(),
+                    line.getPrice());
+            item.setMenuItemId(line.getMenuItemId());
+            byId.get(line.getOrderId()).getOrderItems().add(item);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Cursors are "date\nid" for live orders, and "archive" or "archive\ndate\nid"
+     * once a listing has moved on to archived orders.
+     */
+    private static final class Cursor {
+        final boolean archive;
+        final LocalDateTime date;
+        final Long id;
+
+        Cursor(boolean archive, LocalDateTime date, Long id) {
+            this.archive = archive;
+            this.date = date;
+            this.id = id;
+        }
+    }
+
+    private static String encodeCursor(boolean archive, OrderResponse last) {
+        String raw = last.getOrderDate() + "\n" + last.getId();
+        return encode(archive ? ARCHIVE_MARKER + "\n" + raw : raw);
+    }
+
+    private static String encodeArchiveStart() {
+        return encode(ARCHIVE_MARKER);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\n", -1);
+        boolean archive = parts[0].equals(ARCHIVE_MARKER);
+        int offset = archive ? 1 : 0;
+        if (archive && parts.length == 1) {
+            return new Cursor(true, null, null);
+        }
+        if (parts.length != offset + 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new Cursor(archive, parseDate(parts[offset]), parseId(parts[offset + 1]));
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
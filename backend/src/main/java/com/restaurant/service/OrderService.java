@@ -2,12 +2,34 @@ package com.restaurant.service;
 
 import com.restaurant.dto.OrderItemResponse;
 import com.restaurant.dto.OrderResponse;
+import com.restaurant.dto.OrderStatusBatchResponse;
+import com.restaurant.dto.OrderStatusUpdate;
+import com.restaurant.model.MenuItem;
 import com.restaurant.model.Order;
+import com.restaurant.model.OrderItem;
+import com.restaurant.model.User;
+import com.restaurant.repository.MenuItemRepository;
 import com.restaurant.repository.OrderRepository;
+import com.restaurant.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,30 +38,267 @@ public class OrderService {
         @Autowired
         private OrderRepository orderRepository;
 
-        public List<OrderResponse> getAllOrders() {
-                return orderRepository.findAllWithUserAndItems()
-                                .stream()
-                                .map(this::mapToOrderResponse)
-                                .collect(Collectors.toList());
+        @Autowired
+        private MenuItemRepository menuItemRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private StockService stockService;
+
+        @Autowired
+        private IdempotencyService idempotencyService;
+
+        @Autowired
+        private ResourceVersionService resourceVersionService;
+
+        @Autowired
+        private DeliveryZoneService deliveryZoneService;
+
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
+        /**
+         * Places a new order for the given user: prices it from the menu, reserves
+         * stock, saves it and publishes {@link OrderEvent.Type#CREATED}. When an
+         * idempotency key is given, the response is recorded against it in the
+         * same transaction.
+         *
+         * @throws IllegalArgumentException if the order is malformed or its
+         *         coordinates are outside the delivery zones
+         * @throws IllegalStateException if an item is unavailable or out of stock
+         */
+        @Transactional
+        public OrderResponse placeOrder(Order order, String username, String idempotencyKey) {
+                Object request = idempotencyKey != null ? requestSummary(order) : null;
+                User user = userRepository.findByUsernameOrEmail(username, username)
+                                .orElseThrow(() -> new RuntimeException("User not found"));
+                order.setUser(user);
+                order.setOrderDate(LocalDateTime.now());
+                order.setStatus(Order.OrderStatus.PENDING);
+
+                deliveryZoneService.checkDeliverable(order.getLatitude(), order.getLongitude());
+                priceOrder(order);
+
+                Long shortItem = stockService.reserve(quantitiesOf(order));
+                if (shortItem != null) {
+                        throw new IllegalStateException("Not enough stock for menu item: " + shortItem);
+                }
+
+                Order savedOrder = orderRepository.save(order);
+                resourceVersionService.bumpAfterCommit(ResourceVersionService.userOrders(user.getUsername()));
+
+                OrderResponse response = mapToOrderResponse(savedOrder);
+                eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.CREATED, response, user.getId(), null));
+                if (idempotencyKey != null) {
+                        idempotencyService.record(username, idempotencyKey, request, response);
+                }
+                return response;
+        }
+
+        /**
+         * Moves one order to a new status. Returns empty if the order does not exist.
+         *
+         * @param expectedVersion if not null, the version the caller last saw
+         * @throws IllegalStateException if the transition is not allowed or the
+         *         order has changed since expectedVersion
+         */
+        @Transactional
+        public Optional<OrderResponse> updateStatus(Long id, Order.OrderStatus status, Long expectedVersion) {
+                Optional<Order> found = orderRepository.findById(id);
+                if (found.isEmpty()) {
+                        return Optional.empty();
+                }
+                Order order = found.get();
+                String problem = checkTransition(order, status, expectedVersion);
+                if (problem != null) {
+                        throw new IllegalStateException(problem);
+                }
+                Order.OrderStatus previous = applyStatus(order, status);
+                Order saved = orderRepository.saveAndFlush(order);
+
+                OrderResponse response = mapToOrderResponse(saved);
+                eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, response,
+                                saved.getUser() != null ? saved.getUser().getId() : null, previous));
+                return Optional.of(response);
+        }
+
+        /**
+         * Applies many status changes in one transaction. Each update is checked on
+         * its own and the ones that fail are reported back rather than failing the
+         * batch; the rest are written with batched updates and announced as a single
+         * {@link OrderBatchEvent}. If another writer changes one of the orders
+         * before the flush, the whole batch rolls back with an optimistic locking
+         * failure.
+         */
+        @Transactional
+        public OrderStatusBatchResponse updateStatuses(List<OrderStatusUpdate> updates) {
+                OrderStatusBatchResponse result = new OrderStatusBatchResponse();
+                Set<Long> ids = new HashSet<>();
+                for (OrderStatusUpdate update : updates) {
+                        if (update.getId() != null) {
+                                ids.add(update.getId());
+                        }
+                }
+                Map<Long, Order> orders = orderRepository.findWithItemsByIdIn(ids).stream()
+                                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+                Set<Long> seen = new HashSet<>();
+                List<Order> changed = new ArrayList<>();
+                List<Order.OrderStatus> previousStatuses = new ArrayList<>();
+                for (OrderStatusUpdate update : updates) {
+                        Long id = update.getId();
+                        if (id == null) {
+                                result.getRejected().add(new OrderStatusBatchResponse.Rejection(null, "Missing order id"));
+                                continue;
+                        }
+                        if (!seen.add(id)) {
+                                result.getRejected().add(new OrderStatusBatchResponse.Rejection(id, "Order appears more than once"));
+                                continue;
+                        }
+                        Order order = orders.get(id);
+                        if (order == null) {
+                                result.getRejected().add(new OrderStatusBatchResponse.Rejection(id, "Order not found"));
+                                continue;
+                        }
+                        Order.OrderStatus status;
+                        try {
+                                status = parseStatus(update.getStatus());
+                        } catch (IllegalArgumentException e) {
+                                result.getRejected().add(new OrderStatusBatchResponse.Rejection(id, e.getMessage()));
+                                continue;
+                        }
+                        String problem = checkTransition(order, status, update.getVersion());
+                        if (problem != null) {
+                                result.getRejected().add(new OrderStatusBatchResponse.Rejection(id, problem));
+                                continue;
+                        }
+                        previousStatuses.add(applyStatus(order, status));
+                        changed.add(order);
+                }
+                if (changed.isEmpty()) {
+                        return result;
+                }
+
+                // Flush now so the responses carry the new versions
+                orderRepository.saveAllAndFlush(changed);
+
+                List<OrderEvent> events = new ArrayList<>(changed.size());
+                for (int i = 0; i < changed.size(); i++) {
+                        Order order = changed.get(i);
+                        OrderResponse response = mapToOrderResponse(order);
+                        result.getUpdated().add(response);
+                        events.add(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, response,
+                                        order.getUser() != null ? order.getUser().getId() : null,
+                                        previousStatuses.get(i)));
+                }
+                eventPublisher.publishEvent(new OrderBatchEvent(events));
+                return result;
         }
 
-        public List<OrderResponse> getOrdersByUser(com.restaurant.model.User user) {
-                return orderRepository.findByUserOrderByOrderDateDesc(user)
-                                .stream()
-                                .map(this::mapToOrderResponse)
-                                .collect(Collectors.toList());
+        /**
+         * Parses a status name as sent by clients, case-insensitively.
+         *
+         * @throws IllegalArgumentException if the status is missing or unknown
+         */
+        public static Order.OrderStatus parseStatus(String value) {
+                if (value == null || value.isBlank()) {
+                        throw new IllegalArgumentException("Missing status");
+                }
+                try {
+                        return Order.OrderStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown status: " + value);
+                }
+        }
+
+        private static String checkTransition(Order order, Order.OrderStatus status, Long expectedVersion) {
+                if (expectedVersion != null && !Objects.equals(expectedVersion, order.getVersion())) {
+                        return "Order has been modified (version " + order.getVersion() + ")";
+                }
+                if (!order.getStatus().canTransitionTo(status)) {
+                        return "Cannot change order from " + order.getStatus() + " to " + status;
+                }
+                return null;
+        }
+
+        /**
+         * Sets the new status with its side effects and returns the old one.
+         */
+        private Order.OrderStatus applyStatus(Order order, Order.OrderStatus status) {
+                Order.OrderStatus previous = order.getStatus();
+                if (status == Order.OrderStatus.CANCELLED) {
+                        stockService.release(quantitiesOf(order));
+                }
+                order.setStatus(status);
+                if (order.getUser() != null) {
+                        resourceVersionService.bumpAfterCommit(
+                                        ResourceVersionService.userOrders(order.getUser().getUsername()));
+                }
+                return previous;
+        }
+
+        /**
+         * Attaches the menu items for every line of a new order with a single query
+         * and prices the order from the menu. Client-supplied line prices and totals
+         * are ignored.
+         *
+         * @throws IllegalArgumentException if a line is malformed or names an unknown item
+         * @throws IllegalStateException if an item is currently unavailable
+         */
+        void priceOrder(Order order) {
+                List<OrderItem> lines = order.getOrderItems();
+                if (lines == null || lines.isEmpty()) {
+                        throw new IllegalArgumentException("Order has no items");
+                }
+                for (OrderItem line : lines) {
+                        if (line.getMenuItem() == null || line.getMenuItem().getId() == null) {
+                                throw new IllegalArgumentException("Order item is missing a menu item");
+                        }
+                        if (line.getQuantity() == null || line.getQuantity() < 1) {
+                                throw new IllegalArgumentException("Quantity must be at least 1");
+                        }
+                }
+
+                Set<Long> ids = lines.stream()
+                                .map(line -> line.getMenuItem().getId())
+                                .collect(Collectors.toSet());
+                Map<Long, MenuItem> menuItems = menuItemRepository.findAllById(ids).stream()
+                                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+                BigDecimal total = BigDecimal.ZERO;
+                for (OrderItem line : lines) {
+                        Long id = line.getMenuItem().getId();
+                        MenuItem menuItem = menuItems.get(id);
+                        if (menuItem == null) {
+                                throw new IllegalArgumentException("Menu item not found: " + id);
+                        }
+                        if (!Boolean.TRUE.equals(menuItem.getAvailable())) {
+                                throw new IllegalStateException("Menu item is not available: " + menuItem.getName());
+                        }
+                        line.setOrder(order);
+                        line.setMenuItem(menuItem);
+                        line.setPrice(menuItem.getPrice());
+                        total = total.add(menuItem.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+                }
+                order.setTotalAmount(total);
         }
 
         public OrderResponse mapToOrderResponse(Order order) {
                 List<OrderItemResponse> items = order.getOrderItems() != null ? order.getOrderItems().stream()
-                                .map(item -> new OrderItemResponse(
-                                                item.getId(),
-                                                item.getMenuItem() != null ? item.getMenuItem().getName() : "Unknown",
-                                                item.getQuantity(),
-                                                item.getPrice()))
+                                .map(item -> {
+                                        OrderItemResponse line = new OrderItemResponse(
+                                                        item.getId(),
+                                                        item.getMenuItem() != null ? item.getMenuItem().getName() : "Unknown",
+                                                        item.getQuantity(),
+                                                        item.getPrice());
+                                        line.setMenuItemId(item.getMenuItem() != null ? item.getMenuItem().getId() : null);
+                                        return line;
+                                })
                                 .collect(Collectors.toList()) : java.util.Collections.emptyList();
 
-                return new OrderResponse(
+                OrderResponse response = new OrderResponse(
                                 order.getId(),
                                 order.getUser() != null ? order.getUser().getUsername() : "Guest",
                                 order.getUser() != null ? order.getUser().getFullName() : "Guest",
@@ -49,5 +308,35 @@ public class OrderService {
                                 order.getDeliveryAddress(),
                                 order.getPhoneNumber(),
                                 items);
+                response.setVersion(order.getVersion());
+                response.setLatitude(order.getLatitude());
+                response.setLongitude(order.getLongitude());
+                return response;
+        }
+
+        /**
+         * What the client asked for, as compared between requests made with the same
+         * Idempotency-Key: the items and delivery details, but not the prices or
+         * total, which are worked out here.
+         */
+        public static Object requestSummary(Order order) {
+                return Arrays.asList(new TreeMap<>(quantitiesOf(order)), order.getDeliveryAddress(),
+                                order.getPhoneNumber(), order.getLatitude(), order.getLongitude());
+        }
+
+        /**
+         * Total quantity ordered per menu item id.
+         */
+        public static Map<Long, Integer> quantitiesOf(Order order) {
+                Map<Long, Integer> quantities = new HashMap<>();
+                if (order.getOrderItems() != null) {
+                        for (OrderItem item : order.getOrderItems()) {
+                                if (item.getMenuItem() != null && item.getMenuItem().getId() != null
+                                                && item.getQuantity() != null) {
+                                        quantities.merge(item.getMenuItem().getId(), item.getQuantity(), Integer::sum);
+                                }
+                        }
+                }
+                return quantities;
         }
 }
@@ -0,0 +1,294 @@
+package com.restaurant.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.dto.OrderItemResponse;
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.dto.PopularItem;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Best sellers over the last hour, day and week, kept in a fixed-size
+ * {@link TopItemsSketch} per window and fed from order events, so rankings never
+ * group the order lines. Windows are decaying rather than sliding: a sale counts
+ * fully when made and fades with the window's length as its lifetime.
+ *
+ * The sketches are saved to a snapshot file every so often and on shutdown, and
+ * restored from it on startup. Without a snapshot they are rebuilt once from the
+ * recent live and archived orders. Sales made after the last save are lost if
+ * the process dies.
+ */
+@Service
+public class PopularItemsService {
+
+    public enum Window {
+        HOUR(Duration.ofHours(1)), DAY(Duration.ofDays(1)), WEEK(Duration.ofDays(7));
+
+        private final Duration lifetime;
+
+        Window(Duration lifetime) {
+            this.lifetime = lifetime;
+        }
+
+        public static Window parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown window: " + value);
+            }
+        }
+    }
+
+    // Older sales weigh under 2% of a new one even in the week window
+    private static final Duration BACKFILL = Duration.ofDays(28);
+
+    private static final String ORDER_LINES = "SELECT o.order_date, i.menu_item_id, i.quantity "
+            + "FROM %s o JOIN %s i ON i.order_id = o.id "
+            + "WHERE o.order_date >= ? AND o.status <> 'CANCELLED' AND i.menu_item_id IS NOT NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MenuCatalogService menuCatalogService;
+
+    @Value("${app.popular.capacity:100}")
+    private int capacity;
+
+    @Value("${app.popular.snapshot-file:data/popular-items.json}")
+    private String snapshotFile;
+
+    // Set once loaded; order events that arrive before then are not counted
+    private volatile Map<Window, TopItemsSketch> sketches = Map.of();
+    private volatile boolean dirty;
+    private volatile LocalDateTime lastSaved;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long now = Instant.now().getEpochSecond();
+        Map<Window, TopItemsSketch> loaded = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            loaded.put(window, new TopItemsSketch(capacity, window.lifetime.toSeconds(), now));
+        }
+        if (!restore(loaded)) {
+            backfill(loaded);
+            dirty = true;
+        }
+        sketches = loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        batch.getEvents().forEach(this::apply);
+    }
+
+    /**
+     * The best selling items still on the menu, most sales first.
+     */
+    public List<PopularItem> getTop(Window window, int limit) {
+        TopItemsSketch sketch = sketch(window);
+        MenuSnapshot menu = menuCatalogService.getSnapshot();
+        List<PopularItem> result = new ArrayList<>();
+        for (TopItemsSketch.Entry entry : sketch.top(sketch.getCapacity(), Instant.now().getEpochSecond())) {
+            MenuItem item = menu.getItem(entry.getId());
+            if (item == null) {
+                continue;
+            }
+            result.add(new PopularItem(item.getId(), item.getName(), item.getCategory(), item.getPrice(),
+                    item.getImageUrl(), round(entry.getCount()), round(entry.getError())));
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recent sales of every ranked item, for sorting by popularity. Items not
+     * in the map have sold too little to be ranked.
+     */
+    public Map<Long, Double> getSales(Window window) {
+        Map<Long, Double> sales = new HashMap<>();
+        TopItemsSketch sketch = sketch(window);
+        for (TopItemsSketch.Entry entry : sketch.top(sketch.getCapacity(), Instant.now().getEpochSecond())) {
+            sales.put(entry.getId(), entry.getCount());
+        }
+        return sales;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("capacity", capacity);
+        for (Window window : Window.values()) {
+            metrics.put(window.name().toLowerCase(Locale.ROOT) + "Counters", sketch(window).size());
+        }
+        metrics.put("snapshotFile", snapshotFile);
+        metrics.put("lastSaved", lastSaved);
+        return metrics;
+    }
+
+    @Scheduled(fixedDelayString = "${app.popular.snapshot-interval-ms:60000}")
+    public void scheduledSave() {
+        if (dirty) {
+            save();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dirty) {
+            save();
+        }
+    }
+
+    /**
+     * Writes all windows to the snapshot file, replacing it atomically.
+     */
+    public synchronized void save() {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        dirty = false;
+        Map<Window, TopItemsSketch.State> states = new EnumMap<>(Window.class);
+        sketches.forEach((window, sketch) -> states.put(window, sketch.getState()));
+        Path target = Path.of(snapshotFile).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), states);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            dirty = true;
+            throw new UncheckedIOException("Could not save popular items to " + snapshotFile, e);
+        }
+        lastSaved = LocalDateTime.now();
+    }
+
+    private boolean restore(Map<Window, TopItemsSketch> loaded) {
+        Path source = Path.of(snapshotFile);
+        if (!Files.isRegularFile(source)) {
+            return false;
+        }
+        Map<Window, TopItemsSketch.State> states;
+        try {
+            states = objectMapper.readValue(source.toFile(), new TypeReference<Map<Window, TopItemsSketch.State>>() {
+            });
+        } catch (IOException e) {
+            // An unreadable snapshot is only a slower start: rebuild from the orders
+            return false;
+        }
+        states.forEach((window, state) -> loaded.get(window).restore(state));
+        return true;
+    }
+
+    private void backfill(Map<Window, TopItemsSketch> loaded) {
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minus(BACKFILL));
+        for (String[] tables : new String[][] { { "orders", "order_items" },
+                { "orders_archive", "order_items_archive" } }) {
+            jdbcTemplate.query(String.format(ORDER_LINES, tables[0], tables[1]), rs -> {
+                long at = epochSecond(rs.getTimestamp(1).toLocalDateTime());
+                long itemId = rs.getLong(2);
+                int quantity = rs.getInt(3);
+                for (TopItemsSketch sketch : loaded.values()) {
+                    sketch.add(itemId, quantity, at);
+                }
+            }, since);
+        }
+    }
+
+    private void apply(OrderEvent event) {
+        Order.OrderStatus status = event.getStatus();
+        boolean add;
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            if (status == Order.OrderStatus.CANCELLED) {
+                return;
+            }
+            add = true;
+        } else if (status == Order.OrderStatus.CANCELLED && event.getPreviousStatus() != Order.OrderStatus.CANCELLED) {
+            add = false;
+        } else if (event.getPreviousStatus() == Order.OrderStatus.CANCELLED && status != Order.OrderStatus.CANCELLED) {
+            add = true;
+        } else {
+            return;
+        }
+        OrderResponse order = event.getOrder();
+        Map<Window, TopItemsSketch> current = sketches;
+        if (order.getOrderItems() == null || current.isEmpty()) {
+            return;
+        }
+        long at = epochSecond(order.getOrderDate() != null ? order.getOrderDate() : LocalDateTime.now());
+        for (OrderItemResponse line : order.getOrderItems()) {
+            if (line.getMenuItemId() == null || line.getQuantity() == null) {
+                continue;
+            }
+            for (TopItemsSketch sketch : current.values()) {
+                if (add) {
+                    sketch.add(line.getMenuItemId(), line.getQuantity(), at);
+                } else {
+                    sketch.subtract(line.getMenuItemId(), line.getQuantity(), at);
+                }
+            }
+        }
+        dirty = true;
+    }
+
+    private TopItemsSketch sketch(Window window) {
+        TopItemsSketch sketch = sketches.get(window);
+        if (sketch == null) {
+            throw new IllegalStateException("Popular items are not loaded yet");
+        }
+        return sketch;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static double round(double sales) {
+        return Math.round(sales * 10) / 10.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.restaurant.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for read-mostly resources, used to build strong ETags without
+ * loading or serializing the resource. The epoch keeps ETags from one process
+ * from ever matching those handed out by a previous one.
+ */
+@Service
+public class ResourceVersionService {
+
+    public static final String MENU = "menu";
+    public static final String RESTAURANT_STATUS = "restaurant-status";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public static String userOrders(String username) {
+        return "orders:" + username;
+    }
+
+    public long current(String resource) {
+        AtomicLong version = versions.get(resource);
+        return version != null ? version.get() : 0;
+    }
+
+    public long bump(String resource) {
+        return versions.computeIfAbsent(resource, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Bumps once the surrounding transaction commits, so a reader can never cache
+     * pre-commit data under the new ETag.
+     */
+    public void bumpAfterCommit(String resource) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(resource);
+                }
+            });
+        } else {
+            bump(resource);
+        }
+    }
+
+    public String etag(String resource) {
+        return etag(resource, current(resource));
+    }
+
+    public String etag(String resource, long version) {
+        return "\"" + resource.replaceAll("[^A-Za-z0-9@._-]", "-") + "-" + epoch + "-" + version + "\"";
+    }
+}
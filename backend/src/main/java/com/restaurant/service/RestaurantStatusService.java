@@ -0,0 +1,84 @@
+package com.restaurant.service;
+
+import com.restaurant.model.RestaurantStatus;
+import com.restaurant.repository.RestaurantStatusRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Reads and updates the singleton restaurant status. Every update bumps the
+ * status ETag and is broadcast on /topic/restaurant-status once it has
+ * committed.
+ */
+@Service
+public class RestaurantStatusService {
+
+    @Autowired
+    private RestaurantStatusRepository restaurantStatusRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Held across the whole transaction, commit included, so concurrent updates never
+    // overwrite each other and are broadcast in the order they were applied
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        // Own transaction, since callers may run after their transaction has committed
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public RestaurantStatus getStatus() {
+        return restaurantStatusRepository.findById(1L)
+                .orElseGet(() -> {
+                    RestaurantStatus defaultStatus = new RestaurantStatus();
+                    defaultStatus.setId(1L);
+                    return restaurantStatusRepository.save(defaultStatus);
+                });
+    }
+
+    public RestaurantStatus update(Consumer<RestaurantStatus> change) {
+        lock.lock();
+        try {
+            return transactionTemplate.execute(tx -> {
+                RestaurantStatus status = restaurantStatusRepository.findById(1L)
+                        .orElseGet(() -> {
+                            RestaurantStatus s = new RestaurantStatus();
+                            s.setId(1L);
+                            return s;
+                        });
+                change.accept(status);
+
+                RestaurantStatus updated = restaurantStatusRepository.save(status);
+                resourceVersionService.bumpAfterCommit(ResourceVersionService.RESTAURANT_STATUS);
+
+                // Notify all clients of status change, once a refetch would see it
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        messagingTemplate.convertAndSend("/topic/restaurant-status", updated);
+                    }
+                });
+                return updated;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.OrderItemResponse;
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.Order;
+import com.restaurant.model.RevenueRollup;
+import com.restaurant.model.RevenueRollup.Granularity;
+import com.restaurant.repository.RevenueRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps hourly and daily revenue rollups up to date as orders are placed and
+ * cancelled, so revenue over any date range is a read of a few rows instead of
+ * a scan of the orders tables.
+ *
+ * Order events only touch in-memory deltas; {@link #flush()} adds them to the
+ * rollup rows in one batched upsert. Reads merge in the deltas not yet flushed.
+ */
+@Service
+public class RevenueRollupService {
+
+    static final int MAX_DAYS = 366;
+    static final int MAX_HOURS = 31 * 24;
+
+    private static final String UPSERT = "INSERT INTO revenue_rollups "
+            + "(granularity, bucket_start, revenue, order_count, item_count) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE revenue = revenue + ?, order_count = order_count + ?, "
+            + "item_count = item_count + ?";
+
+    private static final String ORDER_TOTALS = "SELECT o.order_date, o.total_amount, COALESCE(SUM(i.quantity), 0) "
+            + "FROM %s o LEFT JOIN %s i ON i.order_id = o.id WHERE o.status <> 'CANCELLED' "
+            + "GROUP BY o.id, o.order_date, o.total_amount";
+
+    @Autowired
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Only ever read or changed inside the map's compute functions, which lock the entry
+    private static final class Delta {
+        long cents;
+        long orders;
+        long items;
+    }
+
+    private final Map<RevenueRollup.Key, Delta> pending = new ConcurrentHashMap<>();
+
+    // Events record deltas under the read lock; a backfill takes the write lock so
+    // no delta is recorded between clearing them and reading the orders tables
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (revenueRollupRepository.count() == 0) {
+            backfill();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderBatch(OrderBatchEvent batch) {
+        batch.getEvents().forEach(this::apply);
+    }
+
+    /**
+     * Revenue per bucket between two dates inclusive, oldest first, with empty
+     * buckets included.
+     *
+     * @throws IllegalArgumentException if the range is inverted or too long
+     */
+    public List<Map<String, Object>> getRevenue(LocalDate from, LocalDate to, Granularity granularity) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        ChronoUnit unit = granularity == Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        long buckets = unit.between(start, end);
+        if (buckets > (granularity == Granularity.HOUR ? MAX_HOURS : MAX_DAYS)) {
+            throw new IllegalArgumentException("Date range too long for " + granularity.name().toLowerCase() + "ly data");
+        }
+
+        Map<LocalDateTime, long[]> totals = new HashMap<>();
+        for (RevenueRollup row : revenueRollupRepository.findByGranularityAndBucketStartBetweenOrderByBucketStart(
+                granularity, start, end.minusNanos(1))) {
+            totals.put(row.getBucketStart(),
+                    new long[] { toCents(row.getRevenue()), row.getOrderCount(), row.getItemCount() });
+        }
+        for (RevenueRollup.Key key : pending.keySet()) {
+            if (key.getGranularity() != granularity || key.getBucketStart().isBefore(start)
+                    || !key.getBucketStart().isBefore(end)) {
+                continue;
+            }
+            pending.computeIfPresent(key, (k, delta) -> {
+                long[] bucket = totals.computeIfAbsent(k.getBucketStart(), b -> new long[3]);
+                bucket[0] += delta.cents;
+                bucket[1] += delta.orders;
+                bucket[2] += delta.items;
+                return delta;
+            });
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>((int) buckets);
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = bucket.plus(1, unit)) {
+            long[] values = totals.getOrDefault(bucket, new long[3]);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("date", granularity == Granularity.HOUR ? bucket.toString() : bucket.toLocalDate().toString());
+            entry.put("revenue", BigDecimal.valueOf(values[0], 2));
+            entry.put("orders", values[1]);
+            entry.put("items", values[2]);
+            result.add(entry);
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rollups.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<RevenueRollup.Key, Delta> taken = new HashMap<>();
+        for (RevenueRollup.Key key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                taken.put(key, delta);
+            }
+        }
+        if (taken.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(taken.size());
+        taken.forEach((key, delta) -> {
+            BigDecimal revenue = BigDecimal.valueOf(delta.cents, 2);
+            rows.add(new Object[] { key.getGranularity().name(), Timestamp.valueOf(key.getBucketStart()),
+                    revenue, delta.orders, delta.items, revenue, delta.orders, delta.items });
+        });
+        try {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        } catch (RuntimeException e) {
+            // Keep the deltas for the next attempt
+            taken.forEach((key, delta) -> add(key, delta.cents, delta.orders, delta.items));
+            throw e;
+        }
+    }
+
+    /**
+     * Rebuilds every rollup from the live and archived orders. Meant for first
+     * start and for repairs: order events wait until it has read the orders, so
+     * each one is counted exactly once. Returns the number of rows written.
+     */
+    public synchronized int backfill() {
+        lock.writeLock().lock();
+        try {
+            pending.clear();
+            return rebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int rebuild() {
+        Map<RevenueRollup.Key, long[]> totals = new HashMap<>();
+        for (String[] tables : new String[][] { { "orders", "order_items" },
+                { "orders_archive", "order_items_archive" } }) {
+            jdbcTemplate.query(String.format(ORDER_TOTALS, tables[0], tables[1]), rs -> {
+                LocalDateTime orderDate = rs.getTimestamp(1).toLocalDateTime();
+                long cents = toCents(rs.getBigDecimal(2));
+                long items = rs.getLong(3);
+                for (RevenueRollup.Key key : keysFor(orderDate)) {
+                    long[] bucket = totals.computeIfAbsent(key, k -> new long[3]);
+                    bucket[0] += cents;
+                    bucket[1]++;
+                    bucket[2] += items;
+                }
+            });
+        }
+
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((key, values) -> rows.add(new Object[] { key.getGranularity().name(),
+                Timestamp.valueOf(key.getBucketStart()), BigDecimal.valueOf(values[0], 2), values[1], values[2] }));
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.update("DELETE FROM revenue_rollups");
+            jdbcTemplate.batchUpdate("INSERT INTO revenue_rollups "
+                    + "(granularity, bucket_start, revenue, order_count, item_count) VALUES (?, ?, ?, ?, ?)", rows);
+        });
+        return rows.size();
+    }
+
+    private void apply(OrderEvent event) {
+        Order.OrderStatus status = event.getStatus();
+        int sign;
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            sign = status != Order.OrderStatus.CANCELLED ? 1 : 0;
+        } else if (status == Order.OrderStatus.CANCELLED && event.getPreviousStatus() != Order.OrderStatus.CANCELLED) {
+            sign = -1;
+        } else if (event.getPreviousStatus() == Order.OrderStatus.CANCELLED && status != Order.OrderStatus.CANCELLED) {
+            sign = 1;
+        } else {
+            sign = 0;
+        }
+        OrderResponse order = event.getOrder();
+        if (sign == 0 || order.getOrderDate() == null) {
+            return;
+        }
+        long items = 0;
+        if (order.getOrderItems() != null) {
+            for (OrderItemResponse line : order.getOrderItems()) {
+                items += line.getQuantity() != null ? line.getQuantity() : 0;
+            }
+        }
+        long cents = toCents(order.getTotalAmount());
+        lock.readLock().lock();
+        try {
+            for (RevenueRollup.Key key : keysFor(order.getOrderDate())) {
+                add(key, sign * cents, sign, sign * items);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(RevenueRollup.Key key, long cents, long orders, long items) {
+        pending.compute(key, (k, delta) -> {
+            Delta updated = delta != null ? delta : new Delta();
+            updated.cents += cents;
+            updated.orders += orders;
+            updated.items += items;
+            return updated;
+        });
+    }
+
+    private static List<RevenueRollup.Key> keysFor(LocalDateTime orderDate) {
+        return List.of(
+                new RevenueRollup.Key(Granularity.HOUR, orderDate.truncatedTo(ChronoUnit.HOURS)),
+                new RevenueRollup.Key(Granularity.DAY, LocalDateTime.of(orderDate.toLocalDate(), LocalTime.MIDNIGHT)));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+}
@@ -0,0 +1,211 @@
+package com.restaurant.service;
+
+import com.restaurant.model.MenuItem;
+import com.restaurant.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live stock levels for menu items that track stock. Each item has its own
+ * counter, so orders for different dishes never contend and reservations are a
+ * compare-and-set rather than a row lock. Counts are written back to the database
+ * in batches by {@link #flush()}.
+ *
+ * Items without a stock level are not tracked and can always be ordered.
+ */
+@Service
+public class StockService {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private MenuCatalogService menuCatalogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, AtomicInteger> levels = new ConcurrentHashMap<>();
+
+    // Items whose count changed since the last flush
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // Availability flips waiting for the next flush
+    private final Map<Long, Boolean> availabilityChanges = new ConcurrentHashMap<>();
+
+    // Items we marked unavailable ourselves, so restocking can make them available again
+    private final Set<Long> soldOut = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (MenuItem item : menuItemRepository.findByStockQuantityGreaterThanEqual(0)) {
+            levels.put(item.getId(), new AtomicInteger(item.getStockQuantity()));
+        }
+    }
+
+    /**
+     * Reserves the given quantity of each item, all or nothing. Returns the id of
+     * the first item that could not be covered, or null on success. Inside a
+     * transaction the reservation is handed back automatically on rollback.
+     */
+    public Long reserve(Map<Long, Integer> quantities) {
+        // Ordered so concurrent multi-item reservations back off the same way
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        List<Map.Entry<Long, Integer>> taken = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : ordered.entrySet()) {
+            AtomicInteger level = levels.get(entry.getKey());
+            if (level == null) {
+                continue;
+            }
+            int quantity = entry.getValue();
+            int current;
+            do {
+                current = level.get();
+                if (current < quantity) {
+                    for (Map.Entry<Long, Integer> reserved : taken) {
+                        add(reserved.getKey(), reserved.getValue());
+                    }
+                    return entry.getKey();
+                }
+            } while (!level.compareAndSet(current, current - quantity));
+            taken.add(entry);
+            dirty.add(entry.getKey());
+            if (current == quantity) {
+                markAvailable(entry.getKey(), false);
+            }
+        }
+
+        if (!taken.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        for (Map.Entry<Long, Integer> reserved : taken) {
+                            add(reserved.getKey(), reserved.getValue());
+                        }
+                    }
+                }
+            });
+        }
+        return null;
+    }
+
+    /**
+     * Returns stock from a cancelled order. Applied once the cancellation commits.
+     */
+    public void release(Map<Long, Integer> quantities) {
+        Runnable action = () -> quantities.forEach(this::add);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // afterCompletion rather than afterCommit, so the menu delta it may
+                // trigger is published straight away instead of being registered late
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Sets the stock level of an item, or stops tracking it when quantity is null.
+     * Persisted immediately rather than on the next flush.
+     */
+    public void setLevel(Long id, Integer quantity) {
+        if (quantity == null) {
+            levels.remove(id);
+            dirty.remove(id);
+        } else {
+            levels.computeIfAbsent(id, key -> new AtomicInteger()).set(quantity);
+            dirty.add(id);
+            if (quantity == 0) {
+                markAvailable(id, false);
+            } else if (soldOut.contains(id)) {
+                markAvailable(id, true);
+            }
+        }
+        jdbcTemplate.update("UPDATE menu_items SET stock_quantity = ? WHERE id = ?", quantity, id);
+    }
+
+    public Map<Long, Integer> getLevels() {
+        Map<Long, Integer> result = new TreeMap<>();
+        levels.forEach((id, level) -> result.put(id, level.get()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    public void forget(Long id) {
+        levels.remove(id);
+        dirty.remove(id);
+        soldOut.remove(id);
+        availabilityChanges.remove(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> counts = new ArrayList<>();
+        for (Long id : dirty) {
+            dirty.remove(id);
+            AtomicInteger level = levels.get(id);
+            if (level != null) {
+                counts.add(new Object[] { level.get(), id });
+            }
+        }
+        if (!counts.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE menu_items SET stock_quantity = ? WHERE id = ?", counts);
+        }
+
+        List<Object[]> flags = new ArrayList<>();
+        for (Long id : availabilityChanges.keySet()) {
+            Boolean available = availabilityChanges.remove(id);
+            if (available != null) {
+                flags.add(new Object[] { available, id });
+            }
+        }
+        if (!flags.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE menu_items SET available = ? WHERE id = ?", flags);
+        }
+    }
+
+    private void add(Long id, int quantity) {
+        AtomicInteger level = levels.get(id);
+        if (level == null) {
+            return;
+        }
+        int updated = level.addAndGet(quantity);
+        dirty.add(id);
+        if (updated > 0 && updated == quantity && soldOut.contains(id)) {
+            markAvailable(id, true);
+        }
+    }
+
+    private void markAvailable(Long id, boolean available) {
+        if (available) {
+            if (!soldOut.remove(id)) {
+                return;
+            }
+        } else {
+            soldOut.add(id);
+        }
+        availabilityChanges.put(id, available);
+        menuCatalogService.availabilityChanged(id, available);
+    }
+}
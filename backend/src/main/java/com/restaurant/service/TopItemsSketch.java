@@ -0,0 +1,188 @@
+package com.restaurant.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The heaviest items of a stream in a fixed number of counters (Space-Saving):
+ * an item not being counted takes over the smallest counter, inheriting its
+ * count as possible overcount. Any item whose true count exceeds the total
+ * divided by the capacity is guaranteed to hold a counter.
+ *
+ * Counts decay exponentially with the given lifetime, so the ranking follows
+ * recent sales. Rather than touching every counter as time passes, each weight
+ * is scaled up by how far it arrived after a landmark (forward decay), and
+ * counters are scaled back when that factor gets large. Since the weight only
+ * depends on the event's own timestamp, events may be added out of order.
+ */
+public class TopItemsSketch {
+
+    // Rescale once weights grow past e^64, well inside double range
+    private static final double MAX_EXPONENT = 64;
+
+    public static final class Entry {
+        private final Long id;
+        private final double count;
+        private final double error;
+
+        Entry(Long id, double count, double error) {
+            this.id = id;
+            this.count = count;
+            this.error = error;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public double getCount() {
+            return count;
+        }
+
+        /** How much of the count may belong to items this counter replaced. */
+        public double getError() {
+            return error;
+        }
+    }
+
+    /** Counters as of the landmark, for saving and restoring. */
+    public static final class State {
+        private long landmark;
+        private List<double[]> counters = new ArrayList<>();
+
+        public long getLandmark() {
+            return landmark;
+        }
+
+        public void setLandmark(long landmark) {
+            this.landmark = landmark;
+        }
+
+        /** [id, count, error] triples. */
+        public List<double[]> getCounters() {
+            return counters;
+        }
+
+        public void setCounters(List<double[]> counters) {
+            this.counters = counters;
+        }
+    }
+
+    private static final class Counter {
+        double count;
+        double error;
+
+        Counter(double count, double error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final int capacity;
+    private final double lifetimeSeconds;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private long landmark; // epoch seconds
+
+    public TopItemsSketch(int capacity, long lifetimeSeconds, long now) {
+        if (capacity < 1 || lifetimeSeconds < 1) {
+            throw new IllegalArgumentException("Capacity and lifetime must be positive");
+        }
+        this.capacity = capacity;
+        this.lifetimeSeconds = lifetimeSeconds;
+        this.landmark = now;
+    }
+
+    public synchronized void add(Long id, double quantity, long at) {
+        rescaleIfNeeded(at);
+        double weight = quantity * Math.exp((at - landmark) / lifetimeSeconds);
+        Counter counter = counters.get(id);
+        if (counter != null) {
+            counter.count += weight;
+        } else if (counters.size() < capacity) {
+            counters.put(id, new Counter(weight, 0));
+        } else {
+            Long smallest = null;
+            double smallestCount = Double.MAX_VALUE;
+            for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+                if (entry.getValue().count < smallestCount) {
+                    smallest = entry.getKey();
+                    smallestCount = entry.getValue().count;
+                }
+            }
+            counters.remove(smallest);
+            counters.put(id, new Counter(smallestCount + weight, smallestCount));
+        }
+    }
+
+    /**
+     * Takes back an earlier add, as far as it can: an item that has lost its
+     * counter since is left alone.
+     */
+    public synchronized void subtract(Long id, double quantity, long at) {
+        Counter counter = counters.get(id);
+        if (counter != null) {
+            counter.count = Math.max(0, counter.count - quantity * Math.exp((at - landmark) / lifetimeSeconds));
+            counter.error = Math.min(counter.error, counter.count);
+        }
+    }
+
+    /**
+     * Up to limit items with their counts decayed to now, largest first.
+     */
+    public synchronized List<Entry> top(int limit, long now) {
+        double scale = Math.exp((landmark - now) / lifetimeSeconds);
+        List<Entry> entries = new ArrayList<>(counters.size());
+        counters.forEach((id, counter) -> {
+            if (counter.count > 0) {
+                entries.add(new Entry(id, counter.count * scale, counter.error * scale));
+            }
+        });
+        entries.sort(Comparator.comparingDouble(Entry::getCount).reversed().thenComparing(Entry::getId));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized State getState() {
+        State state = new State();
+        state.setLandmark(landmark);
+        counters.forEach((id, counter) -> state.getCounters().add(new double[] { id, counter.count, counter.error }));
+        return state;
+    }
+
+    /**
+     * Replaces the counters with saved ones, keeping the largest if there are
+     * more than fit.
+     */
+    public synchronized void restore(State state) {
+        counters.clear();
+        landmark = state.getLandmark();
+        List<double[]> saved = new ArrayList<>(state.getCounters());
+        saved.sort(Comparator.comparingDouble((double[] counter) -> counter[1]).reversed());
+        for (double[] counter : saved.subList(0, Math.min(saved.size(), capacity))) {
+            counters.put((long) counter[0], new Counter(counter[1], counter[2]));
+        }
+    }
+
+    private void rescaleIfNeeded(long at) {
+        double exponent = (at - landmark) / lifetimeSeconds;
+        if (exponent <= MAX_EXPONENT) {
+            return;
+        }
+        double scale = Math.exp(-exponent);
+        for (Counter counter : counters.values()) {
+            counter.count *= scale;
+            counter.error *= scale;
+        }
+        landmark = at;
+    }
+}
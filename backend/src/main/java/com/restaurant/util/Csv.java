@@ -0,0 +1,176 @@
+package com.restaurant.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reading and writing. Records are read one at a time, so large
+ * files never have to fit in memory. A leading byte order mark is skipped.
+ *
+ * Exports are opened in spreadsheets, which run a text cell starting with =, +,
+ * -, @, tab or CR as a formula. Such text is written with a leading apostrophe,
+ * which {@link #unguard(String)} takes off again on import.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Malformed CSV input, with the line of the record it was found in.
+     */
+    public static class ParseException extends IllegalArgumentException {
+        private final int line;
+
+        public ParseException(int line, String message) {
+            super("Line " + line + ": " + message);
+            this.line = line;
+        }
+
+        public int getLine() {
+            return line;
+        }
+    }
+
+    public static class RecordReader {
+        private final Reader reader;
+        private int pending = -2; // -2 means nothing buffered
+        private boolean started;
+        private boolean afterCr;
+        private int line = 1;
+        private int recordLine;
+
+        public RecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the next record, or returns null at end of input. Quoted fields may
+         * contain commas, doubled quotes and line breaks.
+         *
+         * @throws ParseException if a quoted field is not closed
+         */
+        public List<String> next() throws IOException {
+            recordLine = line;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new ParseException(recordLine, "Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            pending = following;
+                        }
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        /**
+         * The line the last record returned by {@link #next()} started on, counting
+         * line breaks inside quoted fields.
+         */
+        public int getLine() {
+            return recordLine;
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            int c = reader.read();
+            if (!started) {
+                started = true;
+                if (c == '\uFEFF') {
+                    c = reader.read();
+                }
+            }
+            if (c == '\r' || (c == '\n' && !afterCr)) {
+                line++;
+            }
+            afterCr = c == '\r';
+            return c;
+        }
+    }
+
+    public static void writeRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Only text is guarded; numbers such as a negative amount are left as they are
+        boolean formula = value instanceof CharSequence && startsLikeFormula(text);
+        if (formula) {
+            text = "'" + text;
+        } else if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0
+                && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Undoes the apostrophe {@link #escape(Object)} puts before text that would
+     * read as a formula.
+     */
+    public static String unguard(String value) {
+        if (value != null && value.length() > 1 && value.charAt(0) == '\'' && startsLikeFormula(value.substring(1))) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    private static boolean startsLikeFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
@@ -0,0 +1,108 @@
+-- Schema of the last release before migrations, when it was kept by ddl-auto=update.
+-- Databases created by that release are baselined at this version instead of running it.
+
+create table menu_items (
+    available boolean,
+    is_veg boolean,
+    price numeric(38,2),
+    id bigint generated by default as identity,
+    category varchar(255),
+    description varchar(255),
+    image_url TEXT,
+    name varchar(255),
+    primary key (id)
+);
+
+create table order_items (
+    price numeric(38,2),
+    quantity integer,
+    id bigint generated by default as identity,
+    menu_item_id bigint,
+    order_id bigint,
+    primary key (id)
+);
+
+create table orders (
+    latitude float(53),
+    longitude float(53),
+    total_amount numeric(38,2),
+    id bigint generated by default as identity,
+    order_date timestamp(6),
+    user_id bigint,
+    delivery_address varchar(255),
+    phone_number varchar(255),
+    status varchar(255) check (status in ('PENDING','CONFIRMED','PREPARING','READY','DELIVERED','CANCELLED')),
+    primary key (id)
+);
+
+create table payments (
+    amount numeric(38,2),
+    id bigint generated by default as identity,
+    order_id bigint unique,
+    payment_date timestamp(6),
+    payment_method varchar(255) check (payment_method in ('CREDIT_CARD','DEBIT_CARD','PAYPAL','STRIPE','RAZORPAY','CASH_ON_DELIVERY')),
+    razorpay_order_id varchar(255),
+    status varchar(255) check (status in ('PENDING','COMPLETED','FAILED','REFUNDED')),
+    stripe_payment_intent_id varchar(255),
+    transaction_id varchar(255),
+    primary key (id)
+);
+
+create table reservations (
+    date date,
+    party_size integer,
+    time time(6),
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    special_request varchar(255),
+    status varchar(255) check (status in ('PENDING','CONFIRMED','REJECTED','COMPLETED','CANCELLED')),
+    primary key (id)
+);
+
+create table restaurant_status (
+    is_open boolean not null,
+    id bigint not null,
+    estimated_wait_time varchar(255),
+    status_message varchar(255),
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    address varchar(255),
+    email varchar(255) unique,
+    full_name varchar(255),
+    password varchar(255),
+    phone_number varchar(255),
+    provider varchar(255),
+    role varchar(255) check (role in ('USER','ADMIN')),
+    username varchar(255) unique,
+    primary key (id)
+);
+
+alter table order_items
+    add constraint FKdtfg1f49yr5yye2fpl2xid2xo
+    foreign key (menu_item_id)
+    references menu_items;
+
+alter table order_items
+    add constraint FKbioxgbv59vetrxe0ejfubep1w
+    foreign key (order_id)
+    references orders;
+
+alter table orders
+    add constraint FK32ql8ubntj5uh44ph9659tiih
+    foreign key (user_id)
+    references users;
+
+alter table payments
+    add constraint FK81gagumt0r8y3rmudcgpbk42l
+    foreign key (order_id)
+    references orders;
+
+alter table reservations
+    add constraint FKb5g9io5h54iwl2inkno50ppln
+    foreign key (user_id)
+    references users;
@@ -0,0 +1,77 @@
+-- Columns and tables added since the baseline: menu stock, optimistic locking of orders,
+-- kitchen bumps, the status message hidden while the kitchen is full, Idempotency-Key
+-- responses, the order and payment archive and revenue rollups.
+
+alter table menu_items
+    add column stock_quantity integer;
+
+-- Existing orders start at version 0 rather than null
+alter table orders
+    add column version bigint default 0;
+
+alter table restaurant_status
+    add column message_before_busy varchar(255);
+
+alter table order_items
+    add column bumped_at timestamp(6);
+
+create table idempotency_keys (
+    created_at timestamp(6) not null,
+    id varchar(64) not null,
+    request_hash varchar(64) not null,
+    response clob not null,
+    primary key (id)
+);
+
+create table order_items_archive (
+    price numeric(38,2),
+    quantity integer,
+    bumped_at timestamp(6),
+    id bigint not null,
+    menu_item_id bigint,
+    order_id bigint,
+    primary key (id)
+);
+
+create table orders_archive (
+    latitude float(53),
+    longitude float(53),
+    total_amount numeric(38,2),
+    archived_at timestamp(6),
+    id bigint not null,
+    order_date timestamp(6),
+    user_id bigint,
+    version bigint,
+    delivery_address varchar(255),
+    phone_number varchar(255),
+    status varchar(255) check (status in ('PENDING','CONFIRMED','PREPARING','READY','DELIVERED','CANCELLED')),
+    primary key (id)
+);
+
+create table payments_archive (
+    amount numeric(38,2),
+    archived_at timestamp(6),
+    id bigint not null,
+    order_id bigint,
+    payment_date timestamp(6),
+    payment_method varchar(255) check (payment_method in ('CREDIT_CARD','DEBIT_CARD','PAYPAL','STRIPE','RAZORPAY','CASH_ON_DELIVERY')),
+    razorpay_order_id varchar(255),
+    status varchar(255) check (status in ('PENDING','COMPLETED','FAILED','REFUNDED')),
+    stripe_payment_intent_id varchar(255),
+    transaction_id varchar(255),
+    primary key (id)
+);
+
+create table revenue_rollups (
+    revenue numeric(14,2) not null,
+    bucket_start timestamp(6) not null,
+    granularity varchar(8) not null check (granularity in ('HOUR','DAY')),
+    item_count bigint not null,
+    order_count bigint not null,
+    primary key (granularity, bucket_start)
+);
+
+alter table orders_archive
+    add constraint FK8fnd8iqa726klsli92yigvj7p
+    foreign key (user_id)
+    references users;
@@ -0,0 +1,53 @@
+-- Indexes for the menu listings, order history, kitchen queue, reservations and archive
+-- lookups, which otherwise scan their tables.
+
+create index idx_idempotency_keys_created_at
+    on idempotency_keys (created_at);
+
+create index idx_menu_items_category_price
+    on menu_items (category, price, id);
+
+create index idx_menu_items_available_price
+    on menu_items (available, price, id);
+
+create index idx_menu_items_price
+    on menu_items (price, id);
+
+create index idx_menu_items_name
+    on menu_items (name, id);
+
+create index idx_order_items_archive_order
+    on order_items_archive (order_id);
+
+create index idx_orders_order_date
+    on orders (order_date, id);
+
+create index idx_orders_status_date
+    on orders (status, order_date, id);
+
+create index idx_orders_user_date
+    on orders (user_id, order_date, id);
+
+create index idx_payments_archive_order
+    on payments_archive (order_id);
+
+create index idx_orders_archive_order_date
+    on orders_archive (order_date, id);
+
+create index idx_orders_archive_user_date
+    on orders_archive (user_id, order_date, id);
+
+create index idx_reservations_user_date
+    on reservations (user_id, date, time);
+
+create index idx_reservations_date
+    on reservations (date, time);
+
+create index idx_reservations_status_date
+    on reservations (status, date, time);
+
+create index idx_menu_items_stock
+    on menu_items (stock_quantity);
+
+create index idx_orders_archive_status_date
+    on orders_archive (status, order_date, id);
@@ -0,0 +1,117 @@
+-- Schema of the last release before migrations, when it was kept by ddl-auto=update.
+-- Databases created by that release are baselined at this version instead of running it.
+
+create table menu_items (
+    available bit,
+    is_veg bit,
+    price decimal(38,2),
+    id bigint not null auto_increment,
+    category varchar(255),
+    description varchar(255),
+    image_url TEXT,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table order_items (
+    price decimal(38,2),
+    quantity integer,
+    id bigint not null auto_increment,
+    menu_item_id bigint,
+    order_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    latitude float(53),
+    longitude float(53),
+    total_amount decimal(38,2),
+    id bigint not null auto_increment,
+    order_date datetime(6),
+    user_id bigint,
+    delivery_address varchar(255),
+    phone_number varchar(255),
+    status enum ('PENDING','CONFIRMED','PREPARING','READY','DELIVERED','CANCELLED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table payments (
+    amount decimal(38,2),
+    id bigint not null auto_increment,
+    order_id bigint,
+    payment_date datetime(6),
+    razorpay_order_id varchar(255),
+    stripe_payment_intent_id varchar(255),
+    transaction_id varchar(255),
+    payment_method enum ('CREDIT_CARD','DEBIT_CARD','PAYPAL','STRIPE','RAZORPAY','CASH_ON_DELIVERY'),
+    status enum ('PENDING','COMPLETED','FAILED','REFUNDED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table reservations (
+    date date,
+    party_size integer,
+    time time(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint not null,
+    special_request varchar(255),
+    status enum ('PENDING','CONFIRMED','REJECTED','COMPLETED','CANCELLED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table restaurant_status (
+    is_open bit not null,
+    id bigint not null,
+    estimated_wait_time varchar(255),
+    status_message varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    address varchar(255),
+    email varchar(255),
+    full_name varchar(255),
+    password varchar(255),
+    phone_number varchar(255),
+    provider varchar(255),
+    username varchar(255),
+    role enum ('USER','ADMIN'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table payments
+    add constraint UK_8vo36cen604as7etdfwmyjsxt unique (order_id);
+
+alter table users
+    add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users
+    add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table order_items
+    add constraint FKdtfg1f49yr5yye2fpl2xid2xo
+    foreign key (menu_item_id)
+    references menu_items (id);
+
+alter table order_items
+    add constraint FKbioxgbv59vetrxe0ejfubep1w
+    foreign key (order_id)
+    references orders (id);
+
+alter table orders
+    add constraint FK32ql8ubntj5uh44ph9659tiih
+    foreign key (user_id)
+    references users (id);
+
+alter table payments
+    add constraint FK81gagumt0r8y3rmudcgpbk42l
+    foreign key (order_id)
+    references orders (id);
+
+alter table reservations
+    add constraint FKb5g9io5h54iwl2inkno50ppln
+    foreign key (user_id)
+    references users (id);
@@ -0,0 +1,65 @@
+package com.restaurant;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a database left by the last ddl-auto=update release, once
+ * baselined, is migrated to the same schema as a new one.
+ */
+class MigrationTest {
+
+    private static final String LOCATION = "classpath:db/migration/h2";
+
+    private static final String COLUMNS = "SELECT table_name || '.' || column_name || ' ' || data_type "
+            + "FROM information_schema.columns WHERE table_schema = 'PUBLIC' "
+            + "AND table_name <> 'flyway_schema_history' ORDER BY 1";
+
+    private static final String INDEXES = "SELECT table_name || '.' || index_name "
+            + "FROM information_schema.indexes WHERE table_schema = 'PUBLIC' "
+            + "AND table_name <> 'flyway_schema_history' AND index_name LIKE 'IDX_%' ORDER BY 1";
+
+    @Test
+    void baselinedDatabaseMatchesNewOne() {
+        DataSource fresh = dataSource("fresh");
+        flyway(fresh).migrate();
+
+        DataSource legacy = dataSource("legacy");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/h2/V1__initial_schema.sql"))
+                .execute(legacy);
+        flyway(legacy).migrate();
+
+        List<String> columns = describe(fresh, COLUMNS);
+        assertTrue(columns.contains("ORDERS.VERSION BIGINT"));
+        assertTrue(columns.contains("MENU_ITEMS.STOCK_QUANTITY INTEGER"));
+        assertEquals(columns, describe(legacy, COLUMNS));
+        assertEquals(describe(fresh, INDEXES), describe(legacy, INDEXES));
+    }
+
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations(LOCATION)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:migration_" + name + ";DB_CLOSE_DELAY=-1;MODE=MySQL", "sa", "");
+    }
+
+    private static List<String> describe(DataSource dataSource, String query) {
+        return new JdbcTemplate(dataSource).queryForList(query, String.class);
+    }
+}
@@ -0,0 +1,233 @@
+package com.restaurant.repository;
+
+import com.restaurant.dto.MenuQuery;
+import com.restaurant.dto.OrderQuery;
+import com.restaurant.model.Order;
+import com.restaurant.model.Reservation;
+import com.restaurant.model.RevenueRollup;
+import com.restaurant.model.User;
+import com.restaurant.service.MenuQueryService;
+import com.restaurant.service.OrderArchiveService;
+import com.restaurant.service.OrderQueryService;
+import com.restaurant.service.RevenueRollupService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs each repository query, and the service queries built from criteria or
+ * SQL, against H2, then EXPLAINs the SQL sent and checks that no table in the
+ * plan is read by a full scan.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.restaurant.repository.QueryPlanTest$Recorder")
+@ActiveProfiles("dev")
+class QueryPlanTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private MenuQueryService menuQueryService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Collects the SQL of every statement Hibernate prepares.
+     */
+    public static class Recorder implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    void orderQueriesUseIndexes() {
+        User admin = admin();
+        List<Long> ids = List.of(1L, 2L);
+        assertIndexed("findLinesByOrderIds", () -> orderRepository.findLinesByOrderIds(ids));
+        assertIndexed("findOpenKitchenLines", () -> orderRepository.findOpenKitchenLines(
+                EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED)));
+        assertIndexed("findWithItemsByIdIn", () -> orderRepository.findWithItemsByIdIn(ids));
+        assertIndexed("findByUser", () -> orderRepository.findByUser(admin));
+        assertIndexed("findByStatus", () -> orderRepository.findByStatus(Order.OrderStatus.PENDING));
+        assertIndexed("countByUser", () -> orderRepository.countByUser(admin));
+        assertIndexed("countByOrderDateAfter", () -> orderRepository.countByOrderDateAfter(LocalDateTime.now()));
+        assertIndexed("countByStatus", () -> orderRepository.countByStatus(Order.OrderStatus.PENDING));
+        assertIndexed("countByStatusIn", () -> orderRepository.countByStatusIn(
+                EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.PREPARING)));
+        assertIndexed("findDeliveryPoints", () -> orderRepository.findDeliveryPoints(
+                EnumSet.of(Order.OrderStatus.CONFIRMED, Order.OrderStatus.READY)));
+        assertIndexed("findEtaLines", () -> orderRepository.findEtaLines(
+                EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.PREPARING)));
+        assertIndexed("sumTotalAmount", () -> orderRepository.sumTotalAmount(Order.OrderStatus.BILLABLE));
+    }
+
+    @Test
+    void archiveQueriesUseIndexes() {
+        User admin = admin();
+        assertIndexed("archive findLinesByOrderIds", () -> orderArchiveRepository.findLinesByOrderIds(List.of(1L)));
+        assertIndexed("archive countByUser", () -> orderArchiveRepository.countByUser(admin));
+        assertIndexed("archive sumTotalAmount", () -> orderArchiveRepository.sumTotalAmount(Order.OrderStatus.BILLABLE));
+        assertIndexed("archive findNewestOrderDate", () -> orderArchiveRepository.findNewestOrderDate());
+    }
+
+    @Test
+    void menuQueriesUseIndexes() {
+        assertIndexed("findByCategory", () -> menuItemRepository.findByCategory("starters"));
+        assertIndexed("findByAvailableTrue", () -> menuItemRepository.findByAvailableTrue());
+        assertIndexed("findByCategoryAndAvailableTrue",
+                () -> menuItemRepository.findByCategoryAndAvailableTrue("starters"));
+        assertIndexed("findByStockQuantityGreaterThanEqual",
+                () -> menuItemRepository.findByStockQuantityGreaterThanEqual(0));
+    }
+
+    @Test
+    void reservationQueriesUseIndexes() {
+        User admin = admin();
+        assertIndexed("findByUser", () -> reservationRepository.findByUser(admin));
+        assertIndexed("findByDate", () -> reservationRepository.findByDate(LocalDate.now()));
+        assertIndexed("findByStatus", () -> reservationRepository.findByStatus(Reservation.ReservationStatus.PENDING));
+    }
+
+    @Test
+    void userAndPaymentQueriesUseIndexes() {
+        assertIndexed("findByUsername", () -> userRepository.findByUsername("admin"));
+        assertIndexed("findByEmail", () -> userRepository.findByEmail("admin@example.com"));
+        assertIndexed("existsByUsername", () -> userRepository.existsByUsername("admin"));
+        assertIndexed("existsByEmail", () -> userRepository.existsByEmail("admin@example.com"));
+        assertIndexed("findByUsernameOrEmail", () -> userRepository.findByUsernameOrEmail("nobody", "nobody"));
+        Order order = new Order();
+        order.setId(1L);
+        order.setVersion(0L);
+        assertIndexed("findByOrder", () -> paymentRepository.findByOrder(order));
+    }
+
+    @Test
+    void serviceQueriesUseIndexes() {
+        MenuQuery menu = new MenuQuery();
+        menu.setCategory("mains");
+        menu.setSort("price_asc");
+        menu.setLimit(1);
+        menu.setCursor(menuQueryService.query(menu).getNextCursor());
+        assertIndexed("menu by category", () -> menuQueryService.query(menu));
+
+        OrderQuery orders = new OrderQuery();
+        orders.setStatus("DELIVERED");
+        orders.setCursor(cursor("2024-01-01T12:00\n10"));
+        assertIndexed("orders by status", () -> orderQueryService.query(orders));
+        orders.setCursor(cursor("archive\n2024-01-01T12:00\n10"));
+        assertIndexed("archive by status", () -> orderQueryService.query(orders));
+
+        assertIndexed("orders by customer", () -> orderQueryService.query(new OrderQuery(), admin().getId()));
+
+        assertIndexed("revenue by hour", () -> revenueRollupService.getRevenue(LocalDate.now().minusDays(1),
+                LocalDate.now(), RevenueRollup.Granularity.HOUR));
+
+        // Sent through JdbcTemplate, so explained from its source
+        String candidates = (String) ReflectionTestUtils.getField(OrderArchiveService.class, "CANDIDATES");
+        assertIndexed("archive candidates", NamedParameterUtils.parseSqlStatementIntoString(candidates));
+    }
+
+    @Test
+    @Transactional
+    void idempotencyCleanupUsesIndex() {
+        assertIndexed("deleteCreatedBefore",
+                () -> idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(1)));
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User admin() {
+        return userRepository.findByUsername("admin").orElseThrow();
+    }
+
+    private void assertIndexed(String name, Runnable query) {
+        Recorder.statements.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(Recorder.statements);
+        assertFalse(statements.isEmpty(), name + " sent no SQL");
+        for (String sql : statements) {
+            assertIndexed(name, sql);
+        }
+    }
+
+    private void assertIndexed(String name, String sql) {
+        String plan = explain(sql);
+        if (plan.contains(".tableScan")) {
+            fail(name + " scans a table:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // The plan does not depend on the values, only on which columns are compared
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.restaurant.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeliveryGridTest {
+
+    @Test
+    void cellKeysFollowTheGrid() {
+        assertEquals(0, DeliveryGrid.cell(-90.0, -180.0));
+        assertEquals(DeliveryGrid.cell(12.971, 77.594), DeliveryGrid.cell(12.979, 77.599));
+        assertNotEquals(DeliveryGrid.cell(12.971, 77.594), DeliveryGrid.cell(12.981, 77.594));
+        assertNotEquals(DeliveryGrid.cell(12.971, 77.594), DeliveryGrid.cell(12.971, 77.604));
+        // Keys run row by row, so +180 stays inside its own row
+        assertTrue(DeliveryGrid.cell(12.971, 180.0) < DeliveryGrid.cell(12.981, -180.0));
+        assertTrue(DeliveryGrid.cell(12.971, 77.594) < DeliveryGrid.cell(12.971, 77.604));
+    }
+
+    @Test
+    void findsPointsWithinTheRadiusNearestFirst() {
+        DeliveryGrid grid = new DeliveryGrid();
+        grid.put(1L, 12.9716, 77.5946);
+        grid.put(2L, 12.9800, 77.5946); // about 0.9 km north
+        grid.put(3L, 12.9716, 77.6100); // about 1.7 km east
+        grid.put(4L, 13.0500, 77.5946); // about 8.7 km north
+
+        List<DeliveryGrid.Hit> hits = grid.within(12.9716, 77.5946, 2.0);
+        assertEquals(List.of(1L, 2L, 3L), ids(hits));
+        assertEquals(0.0, hits.get(0).getDistanceKm(), 1e-9);
+        assertEquals(0.93, hits.get(1).getDistanceKm(), 0.01);
+    }
+
+    @Test
+    void movesAndRemovesPoints() {
+        DeliveryGrid grid = new DeliveryGrid();
+        grid.put(1L, 12.9716, 77.5946);
+        grid.put(1L, 13.0500, 77.5946);
+        assertEquals(1, grid.size());
+        assertTrue(grid.within(12.9716, 77.5946, 2.0).isEmpty());
+
+        grid.remove(1L);
+        assertFalse(grid.contains(1L));
+        assertTrue(grid.within(13.0500, 77.5946, 2.0).isEmpty());
+    }
+
+    @Test
+    void boxReachingAPoleSpansEveryLongitude() {
+        DeliveryGrid grid = new DeliveryGrid();
+        // Around 1.6 and 2.2 km apart across the pole
+        grid.put(1L, 89.99, 0.0);
+        grid.put(2L, 89.99, 90.0);
+        grid.put(3L, 89.99, 180.0);
+        grid.put(4L, -89.99, -120.0);
+        grid.put(5L, -89.99, 60.0);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(grid.within(89.99, 0.0, 3.0)));
+        assertEquals(List.of(5L, 4L), ids(grid.within(-89.99, 60.0, 3.0)));
+    }
+
+    @Test
+    void boxCrossingTheAntimeridianWraps() {
+        DeliveryGrid grid = new DeliveryGrid();
+        grid.put(1L, -17.0, 179.995);
+        grid.put(2L, -17.0, -179.995); // about 1.1 km east, across the antimeridian
+        grid.put(3L, -17.0, -179.95); // about 5.8 km west
+
+        assertEquals(List.of(1L, 2L), ids(grid.within(-17.0, 179.995, 2.0)));
+        assertEquals(List.of(2L, 1L), ids(grid.within(-17.0, -179.995, 2.0)));
+        assertEquals(List.of(3L, 2L, 1L), ids(grid.within(-17.0, -179.95, 6.0)));
+    }
+
+    @Test
+    void distanceIsTheGreatCircle() {
+        assertEquals(111.19, DeliveryGrid.distanceKm(0, 0, 1, 0), 0.01);
+        assertEquals(1.11, DeliveryGrid.distanceKm(0, 179.995, 0, -179.995), 0.01);
+        assertEquals(DeliveryGrid.distanceKm(51.5, -0.12, 48.85, 2.35),
+                DeliveryGrid.distanceKm(48.85, 2.35, 51.5, -0.12), 1e-9);
+    }
+
+    private static List<Long> ids(List<DeliveryGrid.Hit> hits) {
+        return hits.stream().map(DeliveryGrid.Hit::getId).collect(Collectors.toList());
+    }
+}
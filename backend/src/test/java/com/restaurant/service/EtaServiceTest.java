@@ -0,0 +1,199 @@
+package com.restaurant.service;
+
+import com.restaurant.dto.OrderEta;
+import com.restaurant.dto.OrderItemResponse;
+import com.restaurant.dto.OrderResponse;
+import com.restaurant.model.Order;
+import com.restaurant.model.RestaurantStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays the kitchen queue through {@link EtaService#recompute} at fixed times.
+ */
+class EtaServiceTest {
+
+    private static final Long USER = 7L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 19, 0);
+
+    private EtaService etaService;
+
+    @BeforeEach
+    void setUp() {
+        etaService = new EtaService();
+        ReflectionTestUtils.setField(etaService, "smoothing", 0.5);
+        ReflectionTestUtils.setField(etaService, "defaultPrepMinutes", 15.0);
+        ReflectionTestUtils.setField(etaService, "kitchenSlots", 2);
+        ReflectionTestUtils.setField(etaService, "deliveryMinutes", 15L);
+        ReflectionTestUtils.setField(etaService, "minChangeMinutes", 3L);
+    }
+
+    @Test
+    void waitingOrdersTakeTheNextFreeSlotInOrderPlaced() {
+        place(1L, T0, 10L);
+        place(2L, T0.plusMinutes(1), 10L);
+        place(3L, T0.plusMinutes(2), 10L);
+        etaService.recompute(T0.plusMinutes(2));
+
+        assertEquals(List.of(T0.plusMinutes(17), T0.plusMinutes(17), T0.plusMinutes(32)), readyTimes());
+        OrderEta first = etaService.getEtas(USER).get(0);
+        assertEquals(T0.plusMinutes(32), first.getDeliveredBy());
+        assertEquals("PENDING", first.getStatus());
+    }
+
+    @Test
+    void preparingOrdersHoldTheirSlotUntilTheirEstimateRunsOut() {
+        ReflectionTestUtils.setField(etaService, "kitchenSlots", 1);
+        place(1L, T0, 10L);
+        place(2L, T0, 10L);
+        move(1L, Order.OrderStatus.PREPARING, T0);
+        etaService.recompute(T0.plusMinutes(5));
+        assertEquals(List.of(T0.plusMinutes(15), T0.plusMinutes(30)), readyTimes());
+
+        // Running late: the estimate never falls behind now
+        etaService.recompute(T0.plusMinutes(20));
+        assertEquals(List.of(T0.plusMinutes(20), T0.plusMinutes(35)), readyTimes());
+    }
+
+    @Test
+    void readyOrdersFreeTheirSlot() {
+        ReflectionTestUtils.setField(etaService, "kitchenSlots", 1);
+        place(1L, T0, 10L);
+        place(2L, T0, 20L);
+        move(1L, Order.OrderStatus.PREPARING, T0);
+        move(1L, Order.OrderStatus.READY, T0.plusMinutes(12));
+        etaService.recompute(T0.plusMinutes(12));
+
+        // Order 1 keeps its actual ready time; order 2 starts straight away
+        assertEquals(List.of(T0.plusMinutes(12), T0.plusMinutes(24)), readyTimes());
+    }
+
+    @Test
+    void learnsPrepTimesPerItem() {
+        place(1L, T0, 10L);
+        move(1L, Order.OrderStatus.PREPARING, T0);
+        move(1L, Order.OrderStatus.READY, T0.plusMinutes(25));
+        move(1L, Order.OrderStatus.DELIVERED, T0.plusMinutes(40));
+
+        place(2L, T0.plusMinutes(40), 10L);
+        place(3L, T0.plusMinutes(40), 20L);
+        etaService.recompute(T0.plusMinutes(40));
+
+        // Item 10 took 25 minutes; item 20 is unknown and gets the kitchen average, also 25
+        assertEquals(List.of(T0.plusMinutes(65), T0.plusMinutes(65)), readyTimes());
+
+        place(4L, T0.plusMinutes(40), 10L, 20L);
+        move(4L, Order.OrderStatus.PREPARING, T0.plusMinutes(40));
+        move(4L, Order.OrderStatus.READY, T0.plusMinutes(55));
+        // Item 10 was the slowest, so it moves halfway to 15 minutes: 20
+        move(2L, Order.OrderStatus.PREPARING, T0.plusMinutes(55));
+        etaService.recompute(T0.plusMinutes(55));
+        assertEquals(T0.plusMinutes(75), readyAt(2L));
+        assertEquals(2L, etaService.getMetrics().get("samples"));
+    }
+
+    @Test
+    void ignoresSamplesFromOrdersLeftPreparing() {
+        place(1L, T0, 10L);
+        move(1L, Order.OrderStatus.PREPARING, T0);
+        move(1L, Order.OrderStatus.READY, T0.plusHours(5));
+        assertEquals(0L, etaService.getMetrics().get("samples"));
+    }
+
+    @Test
+    void sendsOnlyEstimatesThatMovedFarEnough() {
+        place(1L, T0, 10L);
+        place(2L, T0, 10L);
+        assertEquals(2, etaService.recompute(T0).size());
+        assertEquals(0, etaService.recompute(T0).size());
+
+        // Two minutes later both estimates have slipped by two minutes: not worth a message
+        assertEquals(0, etaService.recompute(T0.plusMinutes(2)).size());
+
+        place(3L, T0, 10L);
+        List<?> frames = etaService.recompute(T0.plusMinutes(3));
+        // The new order, plus the two that have now slipped by three minutes
+        assertEquals(3, frames.size());
+    }
+
+    @Test
+    void estimatesTheWaitForANewOrder() {
+        etaService.recompute(T0);
+        // A free slot, the default prep time and delivery
+        assertEquals(30L, etaService.getMetrics().get("waitMinutes"));
+
+        place(1L, T0, 10L);
+        place(2L, T0, 10L);
+        etaService.recompute(T0);
+        assertEquals(45L, etaService.getMetrics().get("waitMinutes"));
+    }
+
+    @Test
+    void forgetsFinishedOrders() {
+        place(1L, T0, 10L);
+        move(1L, Order.OrderStatus.CANCELLED, T0.plusMinutes(1));
+        etaService.recompute(T0.plusMinutes(1));
+        assertTrue(etaService.getEtas(USER).isEmpty());
+        assertEquals(0, etaService.getMetrics().get("tracked"));
+    }
+
+    @Test
+    void olderWaitTimesNeverOverwriteNewerOnes() {
+        RestaurantStatus status = new RestaurantStatus();
+        ReflectionTestUtils.setField(etaService, "restaurantStatusService", new RestaurantStatusService() {
+            @Override
+            public RestaurantStatus update(Consumer<RestaurantStatus> change) {
+                change.accept(status);
+                return status;
+            }
+        });
+
+        // The later recompute reaches the status first
+        etaService.publishWaitTime("40-50 mins", 2);
+        etaService.publishWaitTime("30-40 mins", 1);
+        assertEquals("40-50 mins", status.getEstimatedWaitTime());
+
+        etaService.publishWaitTime("35-45 mins", 3);
+        assertEquals("35-45 mins", status.getEstimatedWaitTime());
+    }
+
+    private void place(Long id, LocalDateTime at, Long... items) {
+        List<OrderItemResponse> lines = new ArrayList<>();
+        for (Long item : items) {
+            OrderItemResponse line = new OrderItemResponse(null, "Item " + item, 1, BigDecimal.TEN);
+            line.setMenuItemId(item);
+            lines.add(line);
+        }
+        OrderResponse order = new OrderResponse(id, "user", "User", "PENDING", BigDecimal.TEN, at, null, null, lines);
+        etaService.apply(new OrderEvent(OrderEvent.Type.CREATED, order, USER, null), at);
+    }
+
+    private void move(Long id, Order.OrderStatus status, LocalDateTime at) {
+        OrderResponse order = new OrderResponse(id, "user", "User", status.name(), BigDecimal.TEN, null, null, null,
+                new ArrayList<>());
+        etaService.apply(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, order, USER, null), at);
+    }
+
+    private List<LocalDateTime> readyTimes() {
+        return etaService.getEtas(USER).stream().map(OrderEta::getReadyAt).collect(Collectors.toList());
+    }
+
+    private LocalDateTime readyAt(Long orderId) {
+        return etaService.getEtas(USER).stream()
+                .filter(eta -> eta.getOrderId().equals(orderId))
+                .findFirst()
+                .orElseThrow()
+                .getReadyAt();
+    }
+}
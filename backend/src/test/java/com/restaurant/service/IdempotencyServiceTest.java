@@ -0,0 +1,140 @@
+package com.restaurant.service;
+
+import com.restaurant.model.IdempotencyKey;
+import com.restaurant.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Records real order responses against Idempotency-Keys and replays them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class IdempotencyServiceTest {
+
+    private static final String ORDER = "{\"totalAmount\":1,\"orderItems\":["
+            + "{\"menuItem\":{\"id\":1},\"quantity\":1},{\"menuItem\":{\"id\":3},\"quantity\":1}]}";
+
+    private static final String OTHER_ORDER = "{\"totalAmount\":1,\"orderItems\":["
+            + "{\"menuItem\":{\"id\":1},\"quantity\":2}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void recordsAndReplaysOrderResponse() throws Exception {
+        String key = "k".repeat(IdempotencyService.MAX_KEY_LENGTH);
+        MvcResult first = mockMvc.perform(placeOrder(key)).andExpect(status().isOk()).andReturn();
+        byte[] body = first.getResponse().getContentAsByteArray();
+        assertTrue(body.length > 255, "order response should not fit a tinytext column");
+
+        List<IdempotencyKey> stored = idempotencyKeyRepository.findAll();
+        IdempotencyKey row = stored.stream()
+                .filter(candidate -> candidate.getResponse().equals(new String(body, StandardCharsets.UTF_8)))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(64, row.getId().length());
+
+        MvcResult second = mockMvc.perform(placeOrder(key))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+        assertArrayEquals(body, second.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void rejectsKeyReusedForADifferentOrder() throws Exception {
+        mockMvc.perform(placeOrder("reused")).andExpect(status().isOk());
+        mockMvc.perform(placeOrder("reused", OTHER_ORDER)).andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void expiredKeysAreNotReplayed() {
+        transactionTemplate.executeWithoutResult(tx -> idempotencyService.record("admin", "old", "request", "first"));
+        assertArrayEquals("\"first\"".getBytes(StandardCharsets.UTF_8),
+                idempotencyService.find("admin", "old", "request"));
+
+        Object ttlHours = ReflectionTestUtils.getField(idempotencyService, "ttlHours");
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 0);
+        try {
+            // Cached, but past its TTL
+            assertNull(idempotencyService.find("admin", "old", "request"));
+        } finally {
+            ReflectionTestUtils.setField(idempotencyService, "ttlHours", ttlHours);
+        }
+        // The expired row is gone, so the key can be used again
+        transactionTemplate.executeWithoutResult(tx -> idempotencyService.record("admin", "old", "request", "second"));
+        assertArrayEquals("\"second\"".getBytes(StandardCharsets.UTF_8),
+                idempotencyService.find("admin", "old", "request"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void rejectsKeyThatIsTooLong() throws Exception {
+        mockMvc.perform(placeOrder("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void secondRecordForSameKeyFails() {
+        transactionTemplate.executeWithoutResult(tx -> idempotencyService.record("admin", "dup", "request", "first"));
+        assertThrows(DataIntegrityViolationException.class, () -> transactionTemplate.executeWithoutResult(
+                tx -> idempotencyService.record("admin", "dup", "request", "second")));
+        assertArrayEquals("\"first\"".getBytes(StandardCharsets.UTF_8),
+                idempotencyService.find("admin", "dup", "request"));
+        assertThrows(IdempotencyService.KeyReusedException.class,
+                () -> idempotencyService.find("admin", "dup", "other request"));
+    }
+
+    @Test
+    void keysAreScopedPerUser() {
+        transactionTemplate.executeWithoutResult(tx -> idempotencyService.record("a:b", "c", "request", "scoped"));
+        assertNull(idempotencyService.find("a", "b:c", "request"));
+    }
+
+    private static RequestBuilder placeOrder(String key) {
+        return placeOrder(key, ORDER);
+    }
+
+    private static RequestBuilder placeOrder(String key, String order) {
+        return post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", key)
+                .content(order);
+    }
+}
@@ -0,0 +1,94 @@
+package com.restaurant.service;
+
+import com.restaurant.model.MenuItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MenuSearchIndexTest {
+
+    private MenuSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MenuSearchIndex();
+        index.rebuild(List.of(
+                item(1L, "Chicken Tikka", "Chargrilled in a clay oven", "Mains"),
+                item(2L, "Paneer Tikka", "Cottage cheese with peppers", "Starters"),
+                item(3L, "Saffron Risotto", "Arborio rice with chicken stock", "Mains"),
+                item(4L, "Crème Brûlée", "Vanilla custard", "Desserts"),
+                item(5L, "Tea", "Masala chai", "Drinks"),
+                item(6L, "Teacake", "Toasted with butter", "Desserts")));
+    }
+
+    @Test
+    void matchesPrefixesAsTheyAreTyped() {
+        assertEquals(List.of(1L, 3L), index.search("chick", 10));
+        assertEquals(List.of(1L, 2L), index.search("tik", 10));
+    }
+
+    @Test
+    void requiresEveryTerm() {
+        assertEquals(List.of(1L), index.search("chicken tik", 10));
+        assertEquals(List.of(), index.search("chicken paneer", 10));
+    }
+
+    @Test
+    void ranksNameAboveDescriptionAndExactAbovePrefix() {
+        // Both mention chicken, but only item 1 in its name
+        assertEquals(1L, index.search("chicken", 10).get(0));
+        assertEquals(List.of(5L, 6L), index.search("tea", 10));
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        assertEquals(List.of(4L), index.search("CREME brulee", 10));
+    }
+
+    @Test
+    void fallsBackToTermsWithinEditDistance() {
+        // One substitution within a prefix, a deletion, and a transposition
+        assertEquals(1L, index.search("chiken", 10).get(0));
+        assertEquals(List.of(3L), index.search("risoto", 10));
+        assertEquals(1L, index.search("chikcen", 10).get(0));
+    }
+
+    @Test
+    void doesNotGuessForShortTerms() {
+        assertTrue(index.search("tex", 10).isEmpty());
+    }
+
+    @Test
+    void removedAndReindexedItemsAreUpdated() {
+        index.remove(1L);
+        assertEquals(List.of(3L), index.search("chicken", 10));
+
+        index.index(item(2L, "Paneer Butter Masala", "Rich gravy", "Mains"));
+        assertTrue(index.search("tikka", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("butter masala", 10));
+    }
+
+    @Test
+    void honoursTheLimit() {
+        assertEquals(List.of(1L), index.search("chick", 1));
+    }
+
+    @Test
+    void editDistanceCountsTranspositionsOnceAndStopsAtTheBound() {
+        assertEquals(0, MenuSearchIndex.editDistance("naan", "naan", 2));
+        assertEquals(1, MenuSearchIndex.editDistance("chikcen", "chicken", 2));
+        assertEquals(2, MenuSearchIndex.editDistance("kitten", "sittin", 2));
+        assertTrue(MenuSearchIndex.editDistance("biryani", "burrito", 2) > 2);
+    }
+
+    private static MenuItem item(Long id, String name, String description, String category) {
+        MenuItem item = new MenuItem(name, description, BigDecimal.TEN, category);
+        item.setId(id);
+        return item;
+    }
+}
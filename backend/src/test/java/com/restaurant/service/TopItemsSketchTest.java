@@ -0,0 +1,137 @@
+package com.restaurant.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopItemsSketchTest {
+
+    private static final long HOUR = 3600;
+
+    @Test
+    void countsExactlyWhileThereIsRoom() {
+        TopItemsSketch sketch = new TopItemsSketch(3, HOUR, 0);
+        sketch.add(1L, 2, 0);
+        sketch.add(2L, 5, 0);
+        sketch.add(1L, 1, 0);
+
+        List<TopItemsSketch.Entry> top = sketch.top(10, 0);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(5.0, top.get(0).getCount(), 1e-9);
+        assertEquals(3.0, top.get(1).getCount(), 1e-9);
+        assertEquals(0.0, top.get(1).getError(), 1e-9);
+        assertEquals(List.of(2L), ids(sketch.top(1, 0)));
+    }
+
+    @Test
+    void newItemTakesOverTheSmallestCounter() {
+        TopItemsSketch sketch = new TopItemsSketch(2, HOUR, 0);
+        sketch.add(1L, 5, 0);
+        sketch.add(2L, 3, 0);
+        sketch.add(3L, 1, 0);
+
+        List<TopItemsSketch.Entry> top = sketch.top(10, 0);
+        assertEquals(List.of(1L, 3L), ids(top));
+        assertEquals(4.0, top.get(1).getCount(), 1e-9);
+        assertEquals(3.0, top.get(1).getError(), 1e-9);
+        assertEquals(2, sketch.size());
+    }
+
+    @Test
+    void heavyItemKeepsItsCounterThroughChurn() {
+        TopItemsSketch sketch = new TopItemsSketch(4, HOUR, 0);
+        for (long i = 0; i < 200; i++) {
+            sketch.add(100 + i, 1, 0);
+            if (i % 2 == 0) {
+                sketch.add(1L, 1, 0);
+            }
+        }
+        // 100 of 300 sales is more than 300 / 4
+        assertEquals(1L, sketch.top(1, 0).get(0).getId());
+    }
+
+    @Test
+    void countsDecayWithTheLifetime() {
+        TopItemsSketch sketch = new TopItemsSketch(3, HOUR, 0);
+        sketch.add(1L, 10, 0);
+        sketch.add(2L, 4, HOUR);
+
+        // An hour on, the older sales count for 1/e and fall behind
+        List<TopItemsSketch.Entry> top = sketch.top(10, HOUR);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(4.0, top.get(0).getCount(), 1e-9);
+        assertEquals(10 * Math.exp(-1), top.get(1).getCount(), 1e-9);
+        assertEquals(10 * Math.exp(-2), sketch.top(10, 2 * HOUR).get(1).getCount(), 1e-9);
+    }
+
+    @Test
+    void acceptsEventsOutOfOrder() {
+        TopItemsSketch sketch = new TopItemsSketch(3, HOUR, 0);
+        sketch.add(1L, 1, HOUR);
+        sketch.add(1L, 1, 0);
+        assertEquals(1 + Math.exp(-1), sketch.top(1, HOUR).get(0).getCount(), 1e-9);
+    }
+
+    @Test
+    void rescalesWhenWeightsGrowLarge() {
+        TopItemsSketch sketch = new TopItemsSketch(3, 1, 0);
+        sketch.add(1L, 1, 0);
+        sketch.add(2L, 1, 100);
+
+        assertEquals(100, sketch.getState().getLandmark());
+        List<TopItemsSketch.Entry> top = sketch.top(10, 100);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(1.0, top.get(0).getCount(), 1e-9);
+        assertEquals(Math.exp(-100), top.get(1).getCount(), 1e-50);
+
+        sketch.add(2L, 1, 101);
+        assertEquals(1 + Math.E, sketch.top(1, 101).get(0).getCount() * Math.E, 1e-9);
+    }
+
+    @Test
+    void subtractTakesBackASale() {
+        TopItemsSketch sketch = new TopItemsSketch(3, HOUR, 0);
+        sketch.add(1L, 2, 0);
+        sketch.add(2L, 1, 0);
+        sketch.subtract(1L, 2, 0);
+        sketch.subtract(3L, 1, 0);
+
+        assertEquals(List.of(2L), ids(sketch.top(10, 0)));
+    }
+
+    @Test
+    void restoresSavedCountersKeepingTheLargest() {
+        TopItemsSketch saved = new TopItemsSketch(3, HOUR, 0);
+        saved.add(1L, 1, 0);
+        saved.add(2L, 3, 0);
+        saved.add(3L, 2, HOUR);
+
+        TopItemsSketch same = new TopItemsSketch(3, HOUR, 5 * HOUR);
+        same.restore(saved.getState());
+        assertEquals(entries(saved.top(10, 2 * HOUR)), entries(same.top(10, 2 * HOUR)));
+
+        TopItemsSketch smaller = new TopItemsSketch(2, HOUR, 0);
+        smaller.restore(saved.getState());
+        assertEquals(List.of(3L, 2L), ids(smaller.top(10, HOUR)));
+    }
+
+    @Test
+    void rejectsEmptySketches() {
+        assertThrows(IllegalArgumentException.class, () -> new TopItemsSketch(0, HOUR, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TopItemsSketch(1, 0, 0));
+    }
+
+    private static List<Long> ids(List<TopItemsSketch.Entry> entries) {
+        return entries.stream().map(TopItemsSketch.Entry::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> entries(List<TopItemsSketch.Entry> entries) {
+        return entries.stream()
+                .map(entry -> entry.getId() + "=" + entry.getCount() + "/" + entry.getError())
+                .collect(Collectors.toList());
+    }
+}
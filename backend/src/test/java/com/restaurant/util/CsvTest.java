@@ -0,0 +1,54 @@
+package com.restaurant.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvTest {
+
+    @Test
+    void quotesOnlyWhenNeeded() {
+        assertEquals("", Csv.escape(null));
+        assertEquals("Paneer Tikka", Csv.escape("Paneer Tikka"));
+        assertEquals("\"Salt, pepper\"", Csv.escape("Salt, pepper"));
+        assertEquals("\"A \"\"quoted\"\" name\"", Csv.escape("A \"quoted\" name"));
+        assertEquals("\"Two\nlines\"", Csv.escape("Two\nlines"));
+    }
+
+    @Test
+    void guardsTextThatWouldRunAsAFormula() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", Csv.escape("=HYPERLINK(\"http://x\")"));
+        assertEquals("\"'+1\"", Csv.escape("+1"));
+        assertEquals("\"'-2+3\"", Csv.escape("-2+3"));
+        assertEquals("\"'@SUM(A1)\"", Csv.escape("@SUM(A1)"));
+        assertEquals("\"'\tcmd\"", Csv.escape("\tcmd"));
+        assertEquals("\"'\r=1\"", Csv.escape("\r=1"));
+        assertEquals("a=b", Csv.escape("a=b"));
+    }
+
+    @Test
+    void leavesNumbersAlone() {
+        assertEquals("-5", Csv.escape(-5));
+        assertEquals("-12.50", Csv.escape(new BigDecimal("-12.50")));
+    }
+
+    @Test
+    void guardedTextReadsBackUnchanged() throws IOException {
+        StringWriter out = new StringWriter();
+        Csv.writeRow(out, "=1+1", "-rare", "'quoted", 3);
+
+        List<String> record = new Csv.RecordReader(new StringReader(out.toString())).next();
+        assertEquals(List.of("'=1+1", "'-rare", "'quoted", "3"), record);
+        assertEquals("=1+1", Csv.unguard(record.get(0)));
+        assertEquals("-rare", Csv.unguard(record.get(1)));
+        assertEquals("'quoted", Csv.unguard(record.get(2)));
+        assertNull(Csv.unguard(null));
+    }
+}
@@ -1,6 +1,7 @@
 import React from "react";
 import { Plus, Minus, Trash2 } from "lucide-react";
 import { useCart } from "../../context/CartContext";
+import { resolveImageUrl } from "../../services/api";
 
 const CartItem = ({ item }) => {
   const { updateQty, removeFromCart } = useCart();
@@ -10,7 +11,7 @@ const CartItem = ({ item }) => {
       <div className="w-16 h-16 bg-stone-100 rounded-sm overflow-hidden shadow-sm">
         {item.image || item.imageUrl ? (
           <img
-            src={item.imageUrl || item.image}
+            src={resolveImageUrl(item.imageUrl || item.image)}
             alt={item.name}
             className="w-full h-full object-cover"
           />
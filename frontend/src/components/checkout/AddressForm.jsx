@@ -1,6 +1,6 @@
 
 import React, { useState } from 'react';
-import { MapPin, Phone, User, Edit2 } from 'lucide-react';
+import { MapPin, Phone, User, Edit2, LocateFixed, Loader2 } from 'lucide-react';
 
 const AddressForm = ({ onAddressSubmit, initialData = {} }) => {
     const [formData, setFormData] = useState({
@@ -10,9 +10,37 @@ const AddressForm = ({ onAddressSubmit, initialData = {} }) => {
         city: initialData.city || '',
         state: initialData.state || '',
         pincode: initialData.pincode || '',
+        latitude: initialData.latitude ?? null,
+        longitude: initialData.longitude ?? null,
     });
 
     const [errors, setErrors] = useState({});
+    const [locating, setLocating] = useState(false);
+
+    // Optional: lets checkout confirm we deliver here before the customer pays
+    const useCurrentLocation = () => {
+        if (!navigator.geolocation) {
+            setErrors({ ...errors, location: "Location is not available in this browser" });
+            return;
+        }
+        setLocating(true);
+        navigator.geolocation.getCurrentPosition(
+            (position) => {
+                setFormData((prev) => ({
+                    ...prev,
+                    latitude: position.coords.latitude,
+                    longitude: position.coords.longitude,
+                }));
+                setErrors((prev) => ({ ...prev, location: null }));
+                setLocating(false);
+            },
+            () => {
+                setErrors((prev) => ({ ...prev, location: "Could not get your location" }));
+                setLocating(false);
+            },
+            { enableHighAccuracy: true, timeout: 10000 }
+        );
+    };
 
     const validate = () => {
         let tempErrors = {};
@@ -135,6 +163,19 @@ const AddressForm = ({ onAddressSubmit, initialData = {} }) => {
                 </div>
             </div>
 
+            <div className="space-y-1">
+                <button
+                    type="button"
+                    onClick={useCurrentLocation}
+                    disabled={locating}
+                    className="flex items-center gap-2 text-xs font-bold uppercase tracking-wider text-stone-500 hover:text-[#E56E0C] transition-colors disabled:opacity-50"
+                >
+                    {locating ? <Loader2 size={14} className="animate-spin" /> : <LocateFixed size={14} />}
+                    {formData.latitude != null ? 'Location pinned · Update' : 'Pin my current location'}
+                </button>
+                {errors.location && <p className="text-xs text-red-500">{errors.location}</p>}
+            </div>
+
             <button 
                 type="submit" 
                 className="w-full bg-[#1a1a1a] text-white py-4 rounded-xl font-display font-medium uppercase tracking-wider hover:bg-[#E56E0C] transition-colors shadow-lg hover:shadow-xl hover:-translate-y-1 transform duration-300"
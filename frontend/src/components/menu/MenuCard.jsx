@@ -1,6 +1,7 @@
 import React from "react";
 import { Plus } from "lucide-react";
 import { useCart } from "../../context/CartContext";
+import { resolveImageUrl } from "../../services/api";
 
 const MenuCard = ({
   item,
@@ -11,7 +12,7 @@ const MenuCard = ({
   const { addToCart } = useCart();
   const fallbackImage =
     "https://images.unsplash.com/photo-1563805042-7684c019e1cb?w=500";
-  const image = item.imageUrl || fallbackImage;
+  const image = resolveImageUrl(item.imageUrl) || fallbackImage;
   const description = item.description || item.desc || "";
 
   if (isHighlight) {
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
 import toast from "react-hot-toast";
 import { useNavigate } from "react-router-dom";
 import { useCart } from "../context/CartContext";
@@ -18,6 +18,7 @@ import {
   createPaymentOrderAPI,
   verifyPaymentAPI,
   placeOrderAPI,
+  checkDeliveryAPI,
 } from "../services/api";
 
 const Checkout = () => {
@@ -30,6 +31,12 @@ const Checkout = () => {
   const [paymentMethod, setPaymentMethod] = useState("RAZORPAY");
   const [loading, setLoading] = useState(false);
   const [orderSuccess, setOrderSuccess] = useState(null);
+  // One key per checkout attempt, so a retried submit cannot place a second order
+  const idempotencyKey = useRef(null);
+
+  useEffect(() => {
+    idempotencyKey.current = null;
+  }, [cart]);
 
   useEffect(() => {
     if (cart.length === 0 && step !== "SUCCESS") {
@@ -61,7 +68,19 @@ const Checkout = () => {
     });
   };
 
-  const handleAddressSubmit = (data) => {
+  const handleAddressSubmit = async (data) => {
+    if (data.latitude != null && data.longitude != null) {
+      try {
+        const res = await checkDeliveryAPI(data.latitude, data.longitude);
+        if (!res.data.deliverable) {
+          toast.error("Sorry, we do not deliver to this address yet");
+          return;
+        }
+      } catch (err) {
+        // The order itself is checked again when it is placed
+        console.error(err);
+      }
+    }
     setAddress(data);
     setStep("PAYMENT");
     window.scrollTo(0, 0);
@@ -74,6 +93,9 @@ const Checkout = () => {
     }
 
     setLoading(true);
+    if (!idempotencyKey.current) {
+      idempotencyKey.current = crypto.randomUUID();
+    }
     try {
       // Prepare Order Data payload structure
 
@@ -87,6 +109,8 @@ const Checkout = () => {
         status: "PENDING",
         deliveryAddress: fullAddressString,
         phoneNumber: address.phone,
+        latitude: address.latitude,
+        longitude: address.longitude,
         orderItems: cart.map((item) => ({
           menuItem: { id: item.id },
           quantity: item.qty,
@@ -96,10 +120,10 @@ const Checkout = () => {
 
       if (paymentMethod === "COD") {
         // Place COD Order directly
-        const orderRes = await placeOrderAPI(orderPayload);
+        const orderRes = await placeOrderAPI(orderPayload, idempotencyKey.current);
         setOrderSuccess({
           id: orderRes.data.id || "COD-" + Date.now(),
-          amount: cartTotal,
+          amount: orderRes.data.totalAmount ?? cartTotal,
         });
         clearCart();
         setStep("SUCCESS");
@@ -145,7 +169,7 @@ const Checkout = () => {
                   ...orderPayload,
                   paymentId: razorpayResponse.razorpay_payment_id,
                 };
-                const orderRes = await placeOrderAPI(paidOrder);
+                const orderRes = await placeOrderAPI(paidOrder, idempotencyKey.current);
 
                 setOrderSuccess({
                   id: orderRes.data.id || orderId,
@@ -190,6 +214,16 @@ const Checkout = () => {
       if (err.message === "TOKEN_EXPIRED" || err.message === "NO_TOKEN") {
         return;
       }
+      // Capacity (429) and stock (409) rejections carry a message worth showing
+      const status = err.response?.status;
+      if (status === 422) {
+        // The key was used for different order details; the next submit gets a new one
+        idempotencyKey.current = null;
+      }
+      if ((status === 429 || status === 409 || status === 422) && typeof err.response.data === "string") {
+        toast.error(err.response.data);
+        return;
+      }
       toast.error("Order placement failed. Please try again.");
     } finally {
       setLoading(false);
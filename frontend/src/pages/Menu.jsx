@@ -1,7 +1,11 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
 import { ArrowLeft, Search, Star, ShoppingBag } from "lucide-react";
 import { Link } from "react-router-dom";
-import { getMenuItemsAPI } from "../services/api";
+import {
+  getMenuItemsAPI,
+  getMenuChangesAPI,
+  getPopularItemsAPI,
+} from "../services/api";
 import MenuCard from "../components/menu/MenuCard";
 import { useCart } from "../context/CartContext";
 import websocketService from "../services/websocket";
@@ -9,14 +13,18 @@ import websocketService from "../services/websocket";
 const Menu = () => {
   const [searchQuery, setSearchQuery] = useState("");
   const [filterType, setFilterType] = useState("all");
+  const [sortPopular, setSortPopular] = useState(false);
+  const [popularRank, setPopularRank] = useState({});
   const [menuItems, setMenuItems] = useState([]);
   const [loading, setLoading] = useState(true);
   const { cartCount, setIsCartOpen } = useCart();
+  const menuVersion = useRef(0);
 
   const fetchMenu = async () => {
     try {
       const res = await getMenuItemsAPI();
       if (res.data && Array.isArray(res.data)) {
+        menuVersion.current = Number(res.headers["x-menu-version"]) || 0;
         setMenuItems(res.data);
       }
     } catch (err) {
@@ -26,13 +34,68 @@ const Menu = () => {
     }
   };
 
+  // Rank once when the sort is picked; items that have not sold keep menu order
+  const togglePopular = async () => {
+    if (sortPopular) {
+      setSortPopular(false);
+      return;
+    }
+    try {
+      const res = await getPopularItemsAPI("week");
+      setPopularRank(
+        Object.fromEntries((res.data || []).map((item, index) => [item.menuItemId, index])),
+      );
+      setSortPopular(true);
+    } catch (err) {
+      console.error("Failed to fetch best sellers:", err);
+    }
+  };
+
+  // Patch the local copy with a single delta from /topic/menu
+  const applyChange = (items, change) => {
+    switch (change.type) {
+      case "ADDED":
+      case "UPDATED":
+        return [...items.filter((item) => item.id !== change.itemId), change.item]
+          .sort((a, b) => a.id - b.id);
+      case "REMOVED":
+        return items.filter((item) => item.id !== change.itemId);
+      default:
+        return items;
+    }
+  };
+
+  // Replay whatever we missed, or refetch if the server no longer has it
+  const catchUp = async () => {
+    try {
+      const res = await getMenuChangesAPI(menuVersion.current);
+      const { version, resyncRequired, changes } = res.data;
+      if (resyncRequired || changes.some((change) => change.type === "RELOAD")) {
+        await fetchMenu();
+        return;
+      }
+      setMenuItems((items) => changes.reduce(applyChange, items));
+      menuVersion.current = version;
+    } catch (err) {
+      console.error("Failed to sync menu:", err);
+    }
+  };
+
+  const handleMenuChange = (change) => {
+    if (change.version <= menuVersion.current) return;
+    if (change.type === "RELOAD" || change.version !== menuVersion.current + 1) {
+      catchUp();
+      return;
+    }
+    menuVersion.current = change.version;
+    setMenuItems((items) => applyChange(items, change));
+  };
+
   useEffect(() => {
     fetchMenu();
 
     websocketService.connect();
-    const unsubscribe = websocketService.subscribe("/topic/menu", () => {
-      fetchMenu();
-    });
+    const unsubscribe = websocketService.subscribe("/topic/menu", handleMenuChange);
 
     return () => {
       unsubscribe();
@@ -40,7 +103,7 @@ const Menu = () => {
   }, []);
 
   const getFilteredItems = () => {
-    return menuItems.filter((item) => {
+    const filtered = menuItems.filter((item) => {
       const matchesSearch = item.name
         .toLowerCase()
         .includes(searchQuery.toLowerCase());
@@ -52,6 +115,9 @@ const Menu = () => {
             : !item.isVeg;
       return matchesSearch && matchesFilter;
     });
+    if (!sortPopular) return filtered;
+    const rank = (item) => popularRank[item.id] ?? Number.MAX_SAFE_INTEGER;
+    return [...filtered].sort((a, b) => rank(a) - rank(b) || a.id - b.id);
   };
 
   return (
@@ -126,6 +192,16 @@ const Menu = () => {
               >
                 Non-Veg
               </button>
+              <button
+                onClick={togglePopular}
+                className={`px-6 py-2 text-[10px] uppercase font-bold tracking-widest rounded-full transition-all border ${
+                  sortPopular
+                    ? "bg-[#E56E0C] text-white border-[#E56E0C] shadow-md"
+                    : "bg-transparent text-stone-400 border-stone-200 hover:border-[#E56E0C] hover:text-[#E56E0C]"
+                }`}
+              >
+                Popular
+              </button>
             </div>
           </div>
 
@@ -20,6 +20,9 @@ const Profile = () => {
   const { user, logout, loading, updateUser } = useAuth();
   const navigate = useNavigate();
   const [orders, setOrders] = useState([]);
+  const [ordersCursor, setOrdersCursor] = useState(null);
+  const [loadingMoreOrders, setLoadingMoreOrders] = useState(false);
+  const [etas, setEtas] = useState({});
   const [reservations, setReservations] = useState([]);
   const [loadingData, setLoadingData] = useState(true);
   const [profileData, setProfileData] = useState(null);
@@ -34,9 +37,11 @@ const Profile = () => {
         api.get("/reservations/my"),
         getProfileAPI(),
       ]);
-      setOrders(orderRes.data || []);
+      setOrders(orderRes.data?.items || []);
+      setOrdersCursor(orderRes.data?.nextCursor || null);
       setReservations(reservationRes.data || []);
       setProfileData(profileRes.data);
+      fetchEtas();
       setNewAddress(profileRes.data?.address || "");
 
       // Sync auth context ONCE (prevents re-render loop)
@@ -54,6 +59,31 @@ const Profile = () => {
     }
   };
 
+  // Estimates are a nice-to-have; the order list works without them
+  const fetchEtas = async () => {
+    try {
+      const res = await api.get("/orders/my/eta");
+      setEtas(Object.fromEntries((res.data || []).map((eta) => [eta.orderId, eta])));
+    } catch (err) {
+      console.error("Failed to fetch order estimates", err);
+    }
+  };
+
+  const loadMoreOrders = async () => {
+    setLoadingMoreOrders(true);
+    try {
+      const res = await api.get("/orders/my", {
+        params: { cursor: ordersCursor },
+      });
+      setOrders((prev) => [...prev, ...(res.data?.items || [])]);
+      setOrdersCursor(res.data?.nextCursor || null);
+    } catch (err) {
+      console.error("Failed to load more orders", err);
+    } finally {
+      setLoadingMoreOrders(false);
+    }
+  };
+
   useEffect(() => {
     if (user?.id) {
       fetchData();
@@ -62,10 +92,22 @@ const Profile = () => {
 
       const unsubscribeOrders = websocketService.subscribe(
         `/topic/order-status/${user.id}`,
-        (updatedOrder) => {
+        (frame) => {
+          // The same topic carries estimate updates and order updates
+          if (frame.type === "ETA") {
+            setEtas((prev) => ({ ...prev, [frame.orderId]: frame }));
+            return;
+          }
+          const updatedOrder = frame;
           setOrders((prev) =>
             prev.map((o) => (o.id === updatedOrder.id ? updatedOrder : o)),
           );
+          if (["DELIVERED", "CANCELLED"].includes(updatedOrder.status)) {
+            setEtas((prev) => {
+              const { [updatedOrder.id]: _, ...rest } = prev;
+              return rest;
+            });
+          }
           toast.success(`Order #${updatedOrder.id}: ${updatedOrder.status}`);
         },
       );
@@ -305,6 +347,17 @@ const Profile = () => {
                         <p className="text-stone-400 text-xs">
                           {new Date(order.orderDate).toLocaleDateString()}
                         </p>
+                        {etas[order.id] && (
+                          <p className="text-[#E56E0C] text-xs font-bold mt-1">
+                            Arriving by{" "}
+                            {new Date(
+                              etas[order.id].deliveredBy,
+                            ).toLocaleTimeString([], {
+                              hour: "2-digit",
+                              minute: "2-digit",
+                            })}
+                          </p>
+                        )}
                       </div>
                       <p className="font-display text-lg font-bold">
                         ₹{order.totalAmount}
@@ -318,7 +371,7 @@ const Profile = () => {
                           className="flex justify-between text-sm"
                         >
                           <span className="text-stone-600">
-                            {item.quantity}x {item.menuItem?.name}
+                            {item.quantity}x {item.name}
                           </span>
                           <span>₹{item.price}</span>
                         </div>
@@ -326,6 +379,15 @@ const Profile = () => {
                     </div>
                   </div>
                 ))}
+                {ordersCursor && (
+                  <button
+                    onClick={loadMoreOrders}
+                    disabled={loadingMoreOrders}
+                    className="w-full py-3 text-xs font-bold uppercase tracking-widest text-[#E56E0C] hover:underline disabled:opacity-50"
+                  >
+                    {loadingMoreOrders ? "Loading..." : "Load more orders"}
+                  </button>
+                )}
               </div>
             ) : (
               <div className="text-center py-12 bg-white rounded-xl border border-stone-100 border-dashed">
@@ -92,8 +92,10 @@ export const setAuthErrorHandler = (handler) => {
 };
 
 // --- AXIOS INSTANCE ---
+const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api';
+
 const api = axios.create({
-  baseURL: import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api',
+  baseURL: API_BASE_URL,
   headers: {
     'Content-Type': 'application/json'
   }
@@ -184,6 +186,15 @@ export const getMenuItemsAPI = async () => {
   return api.get('/menu');
 };
 
+export const getMenuChangesAPI = async (since) => {
+  return api.get('/menu/changes', { params: { since } });
+};
+
+// window: hour, day or week
+export const getPopularItemsAPI = async (window = 'week', limit = 100) => {
+  return api.get('/menu/popular', { params: { window, limit } });
+};
+
 // --- PROFILE API ---
 export const getProfileAPI = () => api.get('/user/profile');
 export const updateProfileAPI = (data) => api.patch('/user/profile', data); // Changed to patch or use existing put logic
@@ -197,9 +208,20 @@ export const createPaymentOrderAPI = (amount) => api.post('/payment/create-order
 export const verifyPaymentAPI = (paymentData) => api.post('/payment/verify-payment', paymentData);
 
 // Place Order (COD or Online)
-export const placeOrderAPI = (orderData) => api.post('/orders', orderData);
+export const placeOrderAPI = (orderData, idempotencyKey) =>
+  api.post('/orders', orderData, {
+    headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {},
+  });
+
+// Whether we deliver to a point, checked before payment
+export const checkDeliveryAPI = (latitude, longitude) =>
+  api.get('/delivery/check', { params: { latitude, longitude } });
 
 // Save Address (Now calls real profile API)
 export const saveAddressAPI = (address) => api.put('/user/profile', { address });
 
+// Uploaded images are stored as paths on the API server, which may be on another origin
+export const resolveImageUrl = (url) =>
+  url && url.startsWith('/') ? new URL(url, new URL(API_BASE_URL, window.location.href)).href : url;
+
 export default api;